@@ -12,7 +12,11 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -64,6 +68,7 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int MAX_PENDING_NOTIFICATIONS = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -85,11 +90,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
+    private final Map<GroupAddressListener, ListenerDispatcher> groupAddressListeners = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, Set<ListenerDispatcher>> listenersByGroupAddress = new ConcurrentHashMap<>();
     private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
 
     @FunctionalInterface
-    private interface ListenerNotification {
+    interface ListenerNotification {
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
@@ -248,13 +254,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
-        GroupAddress destination = event.getDestination();
-        IndividualAddress source = event.getSourceAddr();
-        byte[] asdu = event.getASDU();
+        notifyListeners(task, event.getSourceAddr(), event.getDestination(), event.getASDU(), action);
+    }
+
+    void notifyListeners(String task, IndividualAddress source, GroupAddress destination, byte[] asdu,
+            ListenerNotification action) {
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
+        Set<ListenerDispatcher> dispatchers = listenersByGroupAddress.get(destination);
+        if (dispatchers == null) {
+            return;
+        }
+        for (ListenerDispatcher dispatcher : dispatchers) {
+            GroupAddressListener listener = dispatcher.listener;
             if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+                dispatcher.dispatch(() -> action.apply(listener, source, destination, asdu));
             }
         }
     }
@@ -378,12 +391,47 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        synchronized (groupAddressListeners) {
+            ListenerDispatcher dispatcher = groupAddressListeners.get(listener);
+            boolean added = dispatcher == null;
+            if (dispatcher == null) {
+                dispatcher = new ListenerDispatcher(listener);
+                groupAddressListeners.put(listener, dispatcher);
+            } else {
+                // The group addresses of the listener might have changed
+                removeFromIndex(dispatcher);
+            }
+            dispatcher.groupAddresses = listener.getGroupAddresses();
+            for (GroupAddress groupAddress : dispatcher.groupAddresses) {
+                listenersByGroupAddress.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>())
+                        .add(dispatcher);
+            }
+            return added;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            ListenerDispatcher dispatcher = groupAddressListeners.remove(listener);
+            if (dispatcher == null) {
+                return false;
+            }
+            removeFromIndex(dispatcher);
+            return true;
+        }
+    }
+
+    private void removeFromIndex(ListenerDispatcher dispatcher) {
+        for (GroupAddress groupAddress : dispatcher.groupAddresses) {
+            Set<ListenerDispatcher> dispatchers = listenersByGroupAddress.get(groupAddress);
+            if (dispatchers != null) {
+                dispatchers.remove(dispatcher);
+                if (dispatchers.isEmpty()) {
+                    listenersByGroupAddress.remove(groupAddress);
+                }
+            }
+        }
     }
 
     @Override
@@ -471,4 +519,54 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             }
         }
     }
+
+    /**
+     * Passes the telegrams of a {@link GroupAddressListener} to it one after another on the KNX scheduler, so they
+     * are processed in the order they were received from the bus.
+     */
+    private class ListenerDispatcher implements Runnable {
+        private final GroupAddressListener listener;
+        private Set<GroupAddress> groupAddresses = Set.of();
+        private final Queue<Runnable> pendingNotifications = new ArrayDeque<>();
+        private boolean running;
+
+        private ListenerDispatcher(GroupAddressListener listener) {
+            this.listener = listener;
+        }
+
+        private void dispatch(Runnable notification) {
+            synchronized (this) {
+                if (pendingNotifications.size() >= MAX_PENDING_NOTIFICATIONS) {
+                    logger.warn("Dropping telegram, {} telegrams are pending for listener {}",
+                            pendingNotifications.size(), listener);
+                    return;
+                }
+                pendingNotifications.add(notification);
+                if (running) {
+                    return;
+                }
+                running = true;
+            }
+            knxScheduler.execute(this);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable notification;
+                synchronized (this) {
+                    notification = pendingNotifications.poll();
+                    if (notification == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    notification.run();
+                } catch (RuntimeException e) {
+                    logger.warn("An error occurred while processing a telegram: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
 }
@@ -63,6 +63,9 @@ public interface KNXClient {
     /**
      * Register the given listener to be informed on KNX bus traffic.
      *
+     * Telegrams are only passed to the listener if their destination is one of the group addresses the listener
+     * returns at registration. A listener whose group addresses have changed needs to be registered again.
+     *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
      */
@@ -57,6 +57,7 @@ public abstract class AbstractKNXThingHandler extends BaseThingHandler implement
     private final Random random = new Random();
 
     private @Nullable ScheduledFuture<?> pollingJob;
+    private volatile boolean registered;
 
     public AbstractKNXThingHandler(Thing thing) {
         super(thing);
@@ -196,9 +197,20 @@ public abstract class AbstractKNXThingHandler extends BaseThingHandler implement
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getLocalizedMessage());
         }
         getClient().registerGroupAddressListener(this);
+        registered = true;
         scheduleReadJobs();
     }
 
+    /**
+     * Must be called when the group addresses of the handler have changed, so the client passes the telegrams to the
+     * new group addresses to the handler.
+     */
+    protected final void groupAddressesChanged() {
+        if (registered) {
+            getClient().registerGroupAddressListener(this);
+        }
+    }
+
     protected void detachFromClient() {
         if (pollingJob != null) {
             pollingJob.cancel(true);
@@ -209,6 +221,7 @@ public abstract class AbstractKNXThingHandler extends BaseThingHandler implement
             descriptionJob = null;
         }
         cancelReadFutures();
+        registered = false;
         Bridge bridge = getBridge();
         if (bridge != null) {
             KNXBridgeBaseThingHandler handler = (KNXBridgeBaseThingHandler) bridge.getHandler();
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -33,4 +35,15 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     public boolean listensTo(GroupAddress destination);
+
+    /**
+     * Returns the GroupAddresses the GroupAddressListener has an interest in.
+     *
+     * The KNX client only dispatches telegrams to the listeners of their destination, so this needs to be complete
+     * when the listener is registered. The listener needs to register again when its GroupAddresses have changed,
+     * otherwise the telegrams to the added GroupAddresses are not passed to it.
+     *
+     * @return the GroupAddresses
+     */
+    public Set<GroupAddress> getGroupAddresses();
 }
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ * Tests the dispatching of telegrams to the {@link GroupAddressListener}s of an {@link AbstractKNXClient}.
+ *
+ * @author agent - Initial contribution
+ */
+public class AbstractKNXClientTest {
+
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 1);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 2);
+
+    private ScheduledExecutorService scheduler;
+    private AbstractKNXClient client;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = Executors.newScheduledThreadPool(4);
+        client = new AbstractKNXClient(0, new ThingUID("knx:ip:bridge"), 10, 50, 3, scheduler,
+                mock(StatusUpdateCallback.class)) {
+            @Override
+            protected KNXNetworkLink establishConnection() throws KNXException {
+                throw new KNXException("not connected");
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private void groupWrite(GroupAddress destination, byte... asdu) {
+        client.notifyListeners("Group Write", SOURCE, destination, asdu,
+                (listener, source, dest, data) -> listener.onGroupWrite(client, source, dest, data));
+    }
+
+    @Test
+    public void testRegisterAndUnregister() throws InterruptedException {
+        TestListener listener = new TestListener(GA1);
+        assertTrue(client.registerGroupAddressListener(listener));
+        assertFalse(client.registerGroupAddressListener(listener));
+
+        groupWrite(GA2, (byte) 1);
+        groupWrite(GA1, (byte) 2);
+        listener.awaitTelegrams(1);
+        assertEquals(List.of(GA1 + ":2"), listener.getTelegrams());
+
+        assertTrue(client.unregisterGroupAddressListener(listener));
+        assertFalse(client.unregisterGroupAddressListener(listener));
+        groupWrite(GA1, (byte) 3);
+        Thread.sleep(200);
+        assertEquals(List.of(GA1 + ":2"), listener.getTelegrams());
+    }
+
+    @Test
+    public void testRegisterAgainWithChangedAddresses() throws InterruptedException {
+        TestListener listener = new TestListener(GA1);
+        client.registerGroupAddressListener(listener);
+
+        listener.groupAddresses = Set.of(GA2);
+        assertFalse(client.registerGroupAddressListener(listener));
+
+        groupWrite(GA1, (byte) 1);
+        groupWrite(GA2, (byte) 2);
+        listener.awaitTelegrams(1);
+        Thread.sleep(200);
+        assertEquals(List.of(GA2 + ":2"), listener.getTelegrams());
+    }
+
+    @Test
+    public void testSeveralListenersOfOneAddress() throws InterruptedException {
+        TestListener listener1 = new TestListener(GA1);
+        TestListener listener2 = new TestListener(GA1, GA2);
+        client.registerGroupAddressListener(listener1);
+        client.registerGroupAddressListener(listener2);
+
+        groupWrite(GA1, (byte) 1);
+        listener1.awaitTelegrams(1);
+        listener2.awaitTelegrams(1);
+
+        client.unregisterGroupAddressListener(listener1);
+        groupWrite(GA1, (byte) 2);
+        listener2.awaitTelegrams(2);
+        assertEquals(List.of(GA1 + ":1"), listener1.getTelegrams());
+        assertEquals(List.of(GA1 + ":1", GA1 + ":2"), listener2.getTelegrams());
+    }
+
+    @Test
+    public void testDeliversInOrderPerListener() throws InterruptedException {
+        TestListener listener1 = new TestListener(GA1);
+        TestListener listener2 = new TestListener(GA1);
+        client.registerGroupAddressListener(listener1);
+        client.registerGroupAddressListener(listener2);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            groupWrite(GA1, (byte) (i >> 8), (byte) i);
+            expected.add(GA1 + ":" + (i >> 8) + "," + (byte) i);
+        }
+        listener1.awaitTelegrams(500);
+        listener2.awaitTelegrams(500);
+        assertEquals(expected, listener1.getTelegrams());
+        assertEquals(expected, listener2.getTelegrams());
+    }
+
+    private static class TestListener implements GroupAddressListener {
+        private volatile Set<GroupAddress> groupAddresses;
+        private final List<String> telegrams = new ArrayList<>();
+
+        private TestListener(GroupAddress... groupAddresses) {
+            this.groupAddresses = Set.of(groupAddresses);
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            StringBuilder telegram = new StringBuilder(destination + ":");
+            for (int i = 0; i < asdu.length; i++) {
+                telegram.append(i > 0 ? "," : "").append(asdu[i]);
+            }
+            synchronized (telegrams) {
+                telegrams.add(telegram.toString());
+                telegrams.notifyAll();
+            }
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        private void awaitTelegrams(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            synchronized (telegrams) {
+                while (telegrams.size() < count) {
+                    long wait = deadline - System.currentTimeMillis();
+                    assertTrue(wait > 0, "Received only " + telegrams.size() + " of " + count + " telegrams");
+                    telegrams.wait(wait);
+                }
+            }
+        }
+
+        private List<String> getTelegrams() {
+            synchronized (telegrams) {
+                return new ArrayList<>(telegrams);
+            }
+        }
+    }
+}
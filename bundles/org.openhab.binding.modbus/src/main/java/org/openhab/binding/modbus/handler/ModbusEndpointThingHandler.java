@@ -16,6 +16,9 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.registry.Identifiable;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.core.thing.ThingUID;
 
 /**
@@ -50,4 +53,27 @@ public interface ModbusEndpointThingHandler extends Identifiable<ThingUID> {
      * @return boolean true if the discovery is enabled
      */
     public boolean isDiscoveryEnabled();
+
+    /**
+     * Register a regular poll with the communication interface of this endpoint
+     *
+     * The endpoint may merge the polls of several pollers into fewer requests. The callbacks are always called with
+     * the data of the given request only.
+     *
+     * @param request request to send
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback to call with data
+     * @param failureCallback callback to call in case of failure
+     * @throws IllegalStateException when the communication interface is not available
+     */
+    public void registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback);
+
+    /**
+     * Unregister a regular poll registered with {@link #registerRegularPoll}
+     *
+     * @param resultCallback the result callback the poll was registered with
+     * @return whether the poll was unregistered
+     */
+    public boolean unregisterRegularPoll(ModbusReadCallback resultCallback);
 }
@@ -32,7 +32,6 @@ import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.core.io.transport.modbus.ModbusReadCallback;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
-import org.openhab.core.io.transport.modbus.PollTask;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -183,7 +182,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
-    private volatile @Nullable PollTask pollTask;
+    /** endpoint the regular poll is registered with, null if not polling */
+    private volatile @Nullable ModbusEndpointThingHandler pollEndpoint;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -301,12 +301,12 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         if (config == null) {
             return;
         }
-        PollTask localPollTask = this.pollTask;
-        if (localPollTask != null) {
+        ModbusEndpointThingHandler localPollEndpoint = this.pollEndpoint;
+        if (localPollEndpoint != null) {
             logger.debug("Unregistering polling from ModbusManager");
-            comms.unregisterRegularPoll(localPollTask);
+            localPollEndpoint.unregisterRegularPoll(callbackDelegator);
         }
-        this.pollTask = null;
+        this.pollEndpoint = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -321,7 +321,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollEndpoint != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -356,9 +356,9 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
             logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
+            slaveEndpointThingHandler.registerRegularPoll(localRequest, config.getRefresh(), callbackDelegator,
                     callbackDelegator);
-            assert pollTask != null;
+            pollEndpoint = slaveEndpointThingHandler;
             updateStatus(ThingStatus.ONLINE);
         }
     }
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of an endpoint into fewer, larger requests.
+ *
+ * Polls with the same slave id, function code and poll period are sorted by their start address. Adjacent or
+ * overlapping polls, and polls that are separated by at most {@code maxGap} registers or bits, are merged as long as
+ * the merged request does not exceed the maximum length allowed by the protocol. Every merged request is registered
+ * as one regular poll, and its result is split into the parts requested by each poll. Polls that cannot be merged
+ * with any other poll are registered unchanged.
+ *
+ * Changes of the registered polls are applied after a short delay, so all pollers initialized together are planned at
+ * once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    private static final long REPLAN_DELAY_MILLIS = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final int maxGap;
+
+    private final List<Registration> registrations = new ArrayList<>();
+    private final List<PollTask> pollTasks = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> replanJob;
+    private boolean disposed;
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler used to apply changes of the registered polls
+     * @param maxGap maximum number of registers or bits that are read in between two merged polls without being
+     *            requested by any of them
+     */
+    public ModbusPollCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler, int maxGap) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Register a regular poll
+     *
+     * @param request request of the poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback to call with the data of the request
+     * @param failureCallback callback to call in case of failure
+     */
+    public synchronized void registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        registrations.add(new Registration(request, pollPeriodMillis, resultCallback, failureCallback));
+        scheduleReplan();
+    }
+
+    /**
+     * Unregister a regular poll
+     *
+     * @param resultCallback result callback the poll was registered with
+     * @return whether a poll was unregistered
+     */
+    public synchronized boolean unregisterRegularPoll(ModbusReadCallback resultCallback) {
+        boolean removed = registrations.removeIf(registration -> registration.resultCallback == resultCallback);
+        if (removed) {
+            scheduleReplan();
+        }
+        return removed;
+    }
+
+    /**
+     * Unregister all polls from the communication interface
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob != null) {
+            localReplanJob.cancel(false);
+            replanJob = null;
+        }
+        unregisterPollTasks();
+        registrations.clear();
+    }
+
+    private void scheduleReplan() {
+        if (disposed) {
+            return;
+        }
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob != null) {
+            localReplanJob.cancel(false);
+        }
+        replanJob = scheduler.schedule(this::replan, REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void replan() {
+        if (disposed) {
+            return;
+        }
+        replanJob = null;
+        unregisterPollTasks();
+        List<List<Registration>> blocks = plan(registrations, maxGap);
+        for (List<Registration> block : blocks) {
+            Registration first = block.get(0);
+            if (block.size() == 1) {
+                pollTasks.add(comms.registerRegularPoll(first.request, first.pollPeriodMillis, 0,
+                        first.resultCallback, first.failureCallback));
+            } else {
+                MergedPoll mergedPoll = new MergedPoll(block);
+                logger.debug("Merged {} polls into {}", block.size(), mergedPoll.request);
+                pollTasks.add(comms.registerRegularPoll(mergedPoll.request, first.pollPeriodMillis, 0, mergedPoll,
+                        mergedPoll));
+            }
+        }
+        logger.debug("Registered {} requests for {} polls", blocks.size(), registrations.size());
+    }
+
+    private void unregisterPollTasks() {
+        for (PollTask pollTask : pollTasks) {
+            try {
+                comms.unregisterRegularPoll(pollTask);
+            } catch (IllegalStateException e) {
+                // communication interface has been closed already
+            }
+        }
+        pollTasks.clear();
+    }
+
+    /**
+     * Group the polls into blocks that can be read with one request
+     *
+     * @param registrations the polls
+     * @param maxGap maximum number of registers or bits between two merged polls
+     * @return the blocks, every block contains at least one poll
+     */
+    static List<List<Registration>> plan(List<Registration> registrations, int maxGap) {
+        Map<List<Object>, List<Registration>> groups = new LinkedHashMap<>();
+        for (Registration registration : registrations) {
+            ModbusReadRequestBlueprint request = registration.request;
+            List<Object> key = List.of(request.getUnitID(), request.getFunctionCode(), registration.pollPeriodMillis);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        }
+
+        List<List<Registration>> blocks = new ArrayList<>();
+        for (List<Registration> group : groups.values()) {
+            group.sort(Comparator.comparingInt(Registration::getStart));
+            int maxLength = getMaxLength(group.get(0).request.getFunctionCode());
+            List<Registration> block = new ArrayList<>();
+            int blockStart = 0;
+            int blockEnd = 0;
+            for (Registration registration : group) {
+                int end = Math.max(blockEnd, registration.getEnd());
+                if (!block.isEmpty() && registration.getStart() <= blockEnd + maxGap
+                        && end - blockStart <= maxLength) {
+                    block.add(registration);
+                    blockEnd = end;
+                } else {
+                    if (!block.isEmpty()) {
+                        blocks.add(block);
+                    }
+                    block = new ArrayList<>();
+                    block.add(registration);
+                    blockStart = registration.getStart();
+                    blockEnd = registration.getEnd();
+                }
+            }
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    private static int getMaxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * A regular poll registered by a poller
+     */
+    static class Registration {
+        final ModbusReadRequestBlueprint request;
+        final long pollPeriodMillis;
+        final ModbusReadCallback resultCallback;
+        final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        int getStart() {
+            return request.getReference();
+        }
+
+        int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    /**
+     * One request covering several polls. Results and failures are passed to the callbacks of every poll.
+     */
+    private class MergedPoll implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<Registration> block;
+        private final ModbusReadRequestBlueprint request;
+
+        private MergedPoll(List<Registration> block) {
+            this.block = block;
+            ModbusReadRequestBlueprint first = block.get(0).request;
+            int start = block.get(0).getStart();
+            int end = block.stream().mapToInt(Registration::getEnd).max().orElse(start);
+            int maxTries = block.stream().mapToInt(registration -> registration.request.getMaxTries()).max()
+                    .orElse(first.getMaxTries());
+            request = new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start, end - start,
+                    maxTries);
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (Registration registration : block) {
+                try {
+                    Optional<AsyncModbusReadResult> part = extract(registration, result);
+                    if (part.isPresent()) {
+                        registration.resultCallback.handle(part.get());
+                    } else {
+                        registration.failureCallback.handle(new AsyncModbusFailure<>(registration.request,
+                                new IllegalStateException("Response of merged request " + request + " is too short")));
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Error handling the result of {}", registration.request, e);
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration registration : block) {
+                try {
+                    registration.failureCallback
+                            .handle(new AsyncModbusFailure<>(registration.request, failure.getCause()));
+                } catch (RuntimeException e) {
+                    logger.warn("Error handling the failure of {}", registration.request, e);
+                }
+            }
+        }
+
+        private Optional<AsyncModbusReadResult> extract(Registration registration, AsyncModbusReadResult result) {
+            int offset = registration.getStart() - request.getReference();
+            int length = registration.request.getDataLength();
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            if (registers.isPresent()) {
+                ModbusRegisterArray source = registers.get();
+                if (offset + length > source.size()) {
+                    return Optional.empty();
+                }
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = source.getRegister(offset + i);
+                }
+                return Optional.of(new AsyncModbusReadResult(registration.request, new ModbusRegisterArray(values)));
+            }
+            Optional<BitArray> bits = result.getBits();
+            if (bits.isPresent()) {
+                BitArray source = bits.get();
+                if (offset + length > source.size()) {
+                    return Optional.empty();
+                }
+                BitArray values = new BitArray(length);
+                for (int i = 0; i < length; i++) {
+                    values.setBit(i, source.getBit(offset + i));
+                }
+                return Optional.of(new AsyncModbusReadResult(registration.request, values));
+            }
+            return Optional.empty();
+        }
+    }
+}
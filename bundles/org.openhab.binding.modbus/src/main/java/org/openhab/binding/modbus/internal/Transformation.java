@@ -183,6 +183,11 @@ public class Transformation {
     public @Nullable State transformState(BundleContext context, List<Class<? extends State>> types, State state) {
         // Note that even identity transformations go through the State -> String -> State steps. This does add some
         // overhead but takes care of DecimalType -> PercentType conversions, for example.
+        // The steps are skipped when the state is already of the preferred type, since parsing would return an equal
+        // state anyway.
+        if (isIdentityTransform() && !types.isEmpty() && types.get(0) == state.getClass()) {
+            return state;
+        }
         final String stateAsString = state.toString();
         final String transformed = transform(context, stateAsString);
         return TypeParser.parseState(types, transformed);
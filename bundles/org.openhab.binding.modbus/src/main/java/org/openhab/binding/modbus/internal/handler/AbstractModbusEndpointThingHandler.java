@@ -12,13 +12,21 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.core.io.transport.modbus.ModbusManager;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.PollTask;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.core.thing.Bridge;
@@ -46,8 +54,14 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @Nullable EndpointPoolConfiguration poolConfiguration;
+    /**
+     * Maximum gap between merged polls, see {@link ModbusPollCoalescer}. Negative values disable merging of polls.
+     */
+    protected volatile int mergePollsMaxGap = -1;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollCoalescer pollCoalescer;
+    private final Map<ModbusReadCallback, PollTask> pollTasks = new ConcurrentHashMap<>();
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +90,9 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    if (mergePollsMaxGap >= 0) {
+                        pollCoalescer = new ModbusPollCoalescer(comms, scheduler, mergePollsMaxGap);
+                    }
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +110,12 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusPollCoalescer localPollCoalescer = pollCoalescer;
+        if (localPollCoalescer != null) {
+            localPollCoalescer.dispose();
+            pollCoalescer = null;
+        }
+        pollTasks.clear();
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +133,36 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    @Override
+    public void registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        ModbusPollCoalescer localPollCoalescer = pollCoalescer;
+        if (localPollCoalescer != null) {
+            localPollCoalescer.registerRegularPoll(request, pollPeriodMillis, resultCallback, failureCallback);
+            return;
+        }
+        ModbusCommunicationInterface localComms = comms;
+        if (localComms == null) {
+            throw new IllegalStateException("Endpoint not initialized");
+        }
+        pollTasks.put(resultCallback,
+                localComms.registerRegularPoll(request, pollPeriodMillis, 0, resultCallback, failureCallback));
+    }
+
+    @Override
+    public boolean unregisterRegularPoll(ModbusReadCallback resultCallback) {
+        ModbusPollCoalescer localPollCoalescer = pollCoalescer;
+        if (localPollCoalescer != null) {
+            return localPollCoalescer.unregisterRegularPoll(resultCallback);
+        }
+        PollTask pollTask = pollTasks.remove(resultCallback);
+        ModbusCommunicationInterface localComms = comms;
+        if (pollTask == null || localComms == null) {
+            return false;
+        }
+        return localComms.unregisterRegularPoll(pollTask);
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
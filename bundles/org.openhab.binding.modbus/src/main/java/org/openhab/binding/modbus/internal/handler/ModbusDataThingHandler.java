@@ -96,6 +96,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private final BundleContext bundleContext;
 
     private static final Duration MIN_STATUS_INFO_UPDATE_INTERVAL = Duration.ofSeconds(1);
+    private static final DecimalType ONE = new DecimalType(BigDecimal.ONE);
     private static final Map<String, List<Class<? extends State>>> CHANNEL_ID_TO_ACCEPTED_TYPES = new HashMap<>();
 
     static {
@@ -116,6 +117,19 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     }
     // data channels + 4 for read/write last error/success
     private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
+    // channels accepting ON/OFF and OPEN/CLOSED, respectively, resolved once instead of on every poll
+    private static final Set<String> ON_OFF_CHANNEL_IDS = new HashSet<>();
+    private static final Set<String> OPEN_CLOSED_CHANNEL_IDS = new HashSet<>();
+
+    static {
+        CHANNEL_ID_TO_ACCEPTED_TYPES.forEach((channelId, acceptedDataTypes) -> {
+            if (containsOnOff(acceptedDataTypes)) {
+                ON_OFF_CHANNEL_IDS.add(channelId);
+            } else if (containsOpenClosed(acceptedDataTypes)) {
+                OPEN_CLOSED_CHANNEL_IDS.add(channelId);
+            }
+        });
+    }
 
     //
     // If you change the below default/initial values, please update the corresponding values in dispose()
@@ -129,6 +143,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Optional<Integer> readSubIndex = Optional.empty();
     private volatile @Nullable Integer writeStart;
     private volatile int pollStart;
+    // index of the value in the polled data, see computeExtractIndex
+    private volatile int extractIndex;
     private volatile int slaveId;
     private volatile @Nullable ModbusReadFunctionCode functionCode;
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
@@ -394,6 +410,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         readSubIndex = Optional.empty();
         writeStart = null;
         pollStart = 0;
+        extractIndex = 0;
         slaveId = 0;
         comms = null;
         functionCode = null;
@@ -500,6 +517,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         readTransformation = new Transformation(config.getReadTransform());
         validateReadIndex();
+        extractIndex = computeExtractIndex();
     }
 
     private void validateAndParseWriteParameters(ModbusDataConfiguration config) throws ModbusConfigurationException {
@@ -640,13 +658,51 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
-    private boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
+    /**
+     * Compute the index of the value in the polled data. The read parameters do not change after initialization, so
+     * this is done once instead of on every poll.
+     *
+     * With coils and discrete inputs, this is the index of the bit.
+     *
+     * With registers, the meaning depends on the value type:
+     * e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10)
+     * e.g. with 8bit integer, extractIndex=3 means high byte of second register
+     *
+     * with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+     * respectively.
+     * with >=16 bit types, this is index of first register
+     *
+     * @return index of the value, or 0 if reading is not enabled
+     */
+    private int computeExtractIndex() {
+        ModbusReadRequestBlueprint readRequest = this.readRequest;
+        ValueType readValueType = this.readValueType;
+        if (!readIndex.isPresent() || readRequest == null || readValueType == null) {
+            return 0;
+        }
+        int index = readIndex.get() - pollStart;
+        switch (readRequest.getFunctionCode()) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return index;
+            default:
+                if (readValueType.getBits() >= 16) {
+                    // Invariant, checked in validateReadIndex
+                    assert readSubIndex.orElse(0) == 0;
+                    return index;
+                }
+                int itemsPerRegister = 16 / readValueType.getBits();
+                return index * itemsPerRegister + readSubIndex.orElse(0);
+        }
+    }
+
+    private static boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
         return channelAcceptedDataTypes.stream().anyMatch(clz -> {
             return clz.equals(OnOffType.class);
         });
     }
 
-    private boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
+    private static boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
         return acceptedDataTypes.stream().anyMatch(clz -> {
             return clz.equals(OpenClosedType.class);
         });
@@ -675,35 +731,17 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (readValueType == null) {
             return;
         }
-        State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
-        }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
+        int extractIndex = this.extractIndex;
+        State numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex,
+                    numericState, boolValue, registers, request);
+        }
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -712,12 +750,14 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
-        DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
+        boolean boolValue = bits.getBit(extractIndex);
+        DecimalType numericState = boolValue ? ONE : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        }
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
@@ -820,21 +860,22 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("No transformation available, aborting processUpdatedValue");
             return Collections.emptyMap();
         }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
+        Map<ChannelUID, State> states = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        for (Map.Entry<String, List<Class<? extends State>>> entry : CHANNEL_ID_TO_ACCEPTED_TYPES.entrySet()) {
+            String channelId = entry.getKey();
             ChannelUID channelUID = getChannelUID(channelId);
             if (!isLinked(channelUID)) {
-                return;
+                continue;
             }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
+            List<Class<? extends State>> acceptedDataTypes = entry.getValue();
             if (acceptedDataTypes.isEmpty()) {
-                return;
+                continue;
             }
 
             State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
+            if (ON_OFF_CHANNEL_IDS.contains(channelId)) {
                 boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
-            } else if (containsOpenClosed(acceptedDataTypes)) {
+            } else if (OPEN_CLOSED_CHANNEL_IDS.contains(channelId)) {
                 boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
             } else {
                 boolLikeState = null;
@@ -858,11 +899,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             }
 
             if (transformedState != null) {
-                logger.trace(
-                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                if (logger.isTraceEnabled()) {
+                    logger.trace(
+                            "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                            channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
+                            readValueType, boolValue,
+                            localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                }
                 states.put(channelUID, transformedState);
             } else {
                 String types = StringUtils.join(acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(),
@@ -872,7 +915,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                         channelId, types, numericState, readValueType, boolValue,
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
             }
-        });
+        }
 
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
@@ -58,6 +58,7 @@ public class ModbusSerialThingHandler
         }
 
         this.config = config;
+        mergePollsMaxGap = config.isMergePolls() ? Math.max(0, config.getMergePollsMaxGap()) : -1;
 
         EndpointPoolConfiguration poolConfiguration = new EndpointPoolConfiguration();
         this.poolConfiguration = poolConfiguration;
@@ -51,6 +51,7 @@ public class ModbusTcpThingHandler
         }
 
         this.config = config;
+        mergePollsMaxGap = config.isMergePolls() ? Math.max(0, config.getMergePollsMaxGap()) : -1;
         endpoint = new ModbusTCPSlaveEndpoint(host, config.getPort(), config.getRtuEncoded());
 
         EndpointPoolConfiguration poolConfiguration = new EndpointPoolConfiguration();
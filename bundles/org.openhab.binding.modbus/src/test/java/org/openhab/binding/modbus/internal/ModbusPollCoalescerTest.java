@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer.Registration;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusPollCoalescerTest {
+
+    private static Registration registration(ModbusReadFunctionCode functionCode, int start, int length,
+            long pollPeriodMillis) {
+        return new Registration(new ModbusReadRequestBlueprint(1, functionCode, start, length, 3), pollPeriodMillis,
+                result -> {
+                }, failure -> {
+                });
+    }
+
+    private static List<List<Integer>> starts(List<List<Registration>> blocks) {
+        return blocks.stream().map(block -> block.stream().map(Registration::getStart).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingPollsAreMerged() {
+        List<Registration> registrations = List.of(
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 5, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 30, 2, 1000));
+
+        assertThat(starts(ModbusPollCoalescer.plan(new ArrayList<>(registrations), 0)),
+                is(equalTo(List.of(List.of(0, 10, 12), List.of(30)))));
+    }
+
+    @Test
+    public void testGap() {
+        List<Registration> registrations = List.of(
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 15, 5, 1000));
+
+        assertThat(starts(ModbusPollCoalescer.plan(new ArrayList<>(registrations), 4)),
+                is(equalTo(List.of(List.of(0), List.of(15)))));
+        assertThat(starts(ModbusPollCoalescer.plan(new ArrayList<>(registrations), 5)),
+                is(equalTo(List.of(List.of(0, 15)))));
+    }
+
+    @Test
+    public void testIncompatiblePollsAreNotMerged() {
+        List<Registration> registrations = List.of(
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 10, 2000),
+                registration(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 10, 10, 1000));
+
+        assertThat(ModbusPollCoalescer.plan(new ArrayList<>(registrations), 0).size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testMaximumLength() {
+        int max = ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        List<Registration> registrations = List.of(
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, max - 10, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, max - 10, 10, 1000),
+                registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, max, 1, 1000));
+
+        assertThat(starts(ModbusPollCoalescer.plan(new ArrayList<>(registrations), 0)),
+                is(equalTo(List.of(List.of(0, max - 10), List.of(max)))));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testResultsAreSplit() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, scheduler, 0);
+
+        ModbusReadRequestBlueprint first = new ModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, 3);
+        ModbusReadRequestBlueprint second = new ModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 3, 3);
+        ModbusReadCallback firstCallback = mock(ModbusReadCallback.class);
+        ModbusReadCallback secondCallback = mock(ModbusReadCallback.class);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        coalescer.registerRegularPoll(first, 1000, firstCallback, failureCallback);
+        coalescer.registerRegularPoll(second, 1000, secondCallback, failureCallback);
+
+        ArgumentCaptor<Runnable> replan = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(2)).schedule(replan.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        replan.getValue().run();
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms).registerRegularPoll(request.capture(), eq(1000L), eq(0L), callback.capture(), any());
+        assertThat(request.getValue().getReference(), is(equalTo(2)));
+        assertThat(request.getValue().getDataLength(), is(equalTo(5)));
+
+        callback.getValue()
+                .handle(new AsyncModbusReadResult(request.getValue(), new ModbusRegisterArray(10, 11, 12, 13, 14)));
+
+        ArgumentCaptor<AsyncModbusReadResult> firstResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(firstCallback).handle(firstResult.capture());
+        assertThat(firstResult.getValue().getRequest(), is(sameInstance(first)));
+        assertThat(firstResult.getValue().getRegisters().get().size(), is(equalTo(2)));
+        assertThat(firstResult.getValue().getRegisters().get().getRegister(0), is(equalTo(10)));
+
+        ArgumentCaptor<AsyncModbusReadResult> secondResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(secondCallback).handle(secondResult.capture());
+        assertThat(secondResult.getValue().getRequest(), is(sameInstance(second)));
+        assertThat(secondResult.getValue().getRegisters().get().size(), is(equalTo(3)));
+        assertThat(secondResult.getValue().getRegisters().get().getRegister(0), is(equalTo(12)));
+        assertThat(secondResult.getValue().getRegisters().get().getRegister(2), is(equalTo(14)));
+        verify(failureCallback, never()).handle(any(AsyncModbusFailure.class));
+    }
+}
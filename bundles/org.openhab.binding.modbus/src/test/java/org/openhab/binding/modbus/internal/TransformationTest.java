@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.State;
+import org.osgi.framework.BundleContext;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class TransformationTest {
+
+    private final BundleContext context = mock(BundleContext.class);
+
+    @Test
+    public void testIdentityKeepsStateOfPreferredType() {
+        DecimalType state = new DecimalType("17.5");
+        State transformed = Transformation.IDENTITY_TRANSFORMATION.transformState(context,
+                new NumberItem("").getAcceptedDataTypes(), state);
+        assertThat(transformed, is(sameInstance(state)));
+    }
+
+    @Test
+    public void testIdentityConvertsToOtherType() {
+        State transformed = Transformation.IDENTITY_TRANSFORMATION.transformState(context,
+                new DimmerItem("").getAcceptedDataTypes(), new DecimalType("17.5"));
+        assertThat(transformed, is(equalTo(new PercentType("17.5"))));
+    }
+
+    @Test
+    public void testConstantTransformation() {
+        State transformed = new Transformation("5").transformState(context, new NumberItem("").getAcceptedDataTypes(),
+                new DecimalType("17.5"));
+        assertThat(transformed, is(equalTo(new DecimalType(5))));
+    }
+}
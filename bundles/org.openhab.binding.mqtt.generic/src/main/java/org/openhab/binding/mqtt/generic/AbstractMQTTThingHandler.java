@@ -73,6 +73,10 @@ import org.slf4j.LoggerFactory;
  * While setting up your {@link ChannelState} you would set the callback to your thing handler,
  * because this base class implements {@link ChannelStateUpdateListener}.
  *
+ * <p>
+ * If several of your {@link ChannelState}s use the same state topic, pass {@link #messageDispatcher} to them. The
+ * topic is then subscribed only once and each received payload is decoded and transformed only once.
+ *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
@@ -83,6 +87,8 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private final int subscribeTimeout;
 
     protected @Nullable MqttBrokerConnection connection;
+    // Shares the messages of a state topic between all channel states of this thing subscribed to it
+    protected final TopicMessageDispatcher messageDispatcher = new TopicMessageDispatcher();
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
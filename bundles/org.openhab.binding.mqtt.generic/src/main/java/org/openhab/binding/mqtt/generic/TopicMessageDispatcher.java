@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes to each MQTT state topic only once for all {@link ChannelState}s of a thing and dispatches the received
+ * messages to them.
+ *
+ * <p>
+ * The payload of a message is decoded only once for all channel states of the topic. Channel states having the same
+ * first incoming transformation share its result, and all of them receive the same String instance. Transformation
+ * services caching parsed documents by their source, like JSONPATH, therefore parse every payload only once, no matter
+ * how many channels extract a value from it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TopicMessageDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(TopicMessageDispatcher.class);
+    private final Map<String, TopicSubscription> subscriptions = new HashMap<>();
+
+    /**
+     * Subscribes a channel state to a topic. The topic is only subscribed on the broker connection for the first
+     * channel state. If the topic is still subscribed on another broker connection, that subscription is removed
+     * first, channel states still subscribed to it have to subscribe again on the new connection.
+     *
+     * @param connection A broker connection
+     * @param topic The topic
+     * @param channelState The channel state receiving the messages of the topic
+     * @return A future that completes with true if subscribing to the topic worked and exceptionally otherwise.
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscription subscription = subscriptions.get(topic);
+        if (subscription == null || !subscription.connection.equals(connection)) {
+            if (subscription != null) {
+                unsubscribeReplaced(topic, subscription);
+            }
+            subscription = new TopicSubscription(connection);
+            subscription.channelStates.add(channelState);
+            subscriptions.put(topic, subscription);
+            // Subscribe after adding the channel state, retained messages might be received immediately
+            subscription.future = connection.subscribe(topic, subscription);
+        } else {
+            if (!subscription.channelStates.contains(channelState)) {
+                subscription.channelStates.add(channelState);
+            }
+            if (subscription.future.isCompletedExceptionally()) {
+                subscription.future = connection.subscribe(topic, subscription);
+            }
+        }
+        return subscription.future;
+    }
+
+    /**
+     * Unsubscribes a channel state from a topic. The topic is unsubscribed from the broker connection after the last
+     * channel state is gone.
+     *
+     * @param connection A broker connection
+     * @param topic The topic
+     * @param channelState The channel state
+     * @return A future that completes with true if unsubscribing worked and exceptionally otherwise.
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscription subscription = subscriptions.get(topic);
+        if (subscription == null || !subscription.connection.equals(connection)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscription.channelStates.remove(channelState);
+        if (!subscription.channelStates.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscriptions.remove(topic);
+        return connection.unsubscribe(topic, subscription);
+    }
+
+    private void unsubscribeReplaced(String topic, TopicSubscription subscription) {
+        // The old connection might be gone already, a failure only needs to be logged
+        subscription.connection.unsubscribe(topic, subscription).exceptionally(e -> {
+            logger.debug("Failed to unsubscribe topic {} from the previous broker connection", topic, e);
+            return false;
+        });
+    }
+
+    /**
+     * Returns the subscriber receiving the messages of a topic from the broker connection.
+     *
+     * @param topic The topic
+     * @return The subscriber or null if the topic is not subscribed
+     */
+    synchronized @Nullable MqttMessageSubscriber getSubscriber(String topic) {
+        return subscriptions.get(topic);
+    }
+
+    private class TopicSubscription implements MqttMessageSubscriber {
+        private final MqttBrokerConnection connection;
+        private final List<ChannelState> channelStates = new CopyOnWriteArrayList<>();
+        private CompletableFuture<Boolean> future = CompletableFuture.completedFuture(true);
+
+        private TopicSubscription(MqttBrokerConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            Message message = new Message(payload);
+            for (ChannelState channelState : channelStates) {
+                try {
+                    channelState.processMessage(topic, message);
+                } catch (RuntimeException e) {
+                    logger.warn("Channel {} failed to process message on topic {}", channelState.channelUID(), topic,
+                            e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A received message, shared by all channel states of a topic. Only used by the thread dispatching the message.
+     */
+    static class Message {
+        private final byte[] payload;
+        private @Nullable String value;
+        private final Map<String, @Nullable String> transformedValues = new HashMap<>();
+
+        Message(byte[] payload) {
+            this.payload = payload;
+        }
+
+        byte[] getPayload() {
+            return payload;
+        }
+
+        /**
+         * Returns the payload decoded as UTF-8 text.
+         */
+        String getValue() {
+            String value = this.value;
+            if (value == null) {
+                value = new String(payload, StandardCharsets.UTF_8);
+                this.value = value;
+            }
+            return value;
+        }
+
+        /**
+         * Applies a transformation to the decoded payload. The result is computed only once per message for each
+         * transformation service and pattern.
+         *
+         * @param transformation A transformation
+         * @return The transformed value
+         */
+        @Nullable
+        String transform(ChannelStateTransformation transformation) {
+            String key = transformation.serviceName + ':' + transformation.pattern;
+            if (transformedValues.containsKey(key)) {
+                return transformedValues.get(key);
+            }
+            String transformedValue = transformation.processValue(getValue());
+            transformedValues.put(key, transformedValue);
+            return transformedValue;
+        }
+    }
+}
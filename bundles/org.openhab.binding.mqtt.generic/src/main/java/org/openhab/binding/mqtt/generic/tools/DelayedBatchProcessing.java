@@ -13,20 +13,28 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
+ * <p>
+ * Optionally the accumulated objects are delivered at the latest after a maximum delay, even if new objects keep
+ * arriving, or as soon as a maximum number of objects has been accumulated.
  *
  * @author David Graeff - Initial contribution
  *
@@ -34,12 +42,36 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
+    /**
+     * The reason why a batch has been delivered.
+     */
+    public enum FlushReason {
+        /** No new object arrived within the delay */
+        DELAY,
+        /** The maximum delay since the first object of the batch passed by */
+        MAX_DELAY,
+        /** The maximum batch size has been reached */
+        MAX_BATCH_SIZE,
+        /** {@link DelayedBatchProcessing#forceProcessNow()} has been called */
+        FORCED
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(DelayedBatchProcessing.class);
     private final int delay;
+    private final int maxDelay;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    // Time the first object of the current batch has been added, in nanoseconds, or 0 if there is none
+    private final AtomicLong batchStart = new AtomicLong();
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
 
+    private final AtomicLong processedBatches = new AtomicLong();
+    private final AtomicLong processedObjects = new AtomicLong();
+    private final AtomicLong[] flushCounts = new AtomicLong[FlushReason.values().length];
+
     /**
      * Creates a {@link DelayedBatchProcessing}.
      *
@@ -48,24 +80,72 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, 0, 0, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing} with a bounded latency.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxDelay The maximum delay in milliseconds between adding the first object of a batch and delivering the
+     *            batch. 0 for no maximum delay.
+     * @param maxBatchSize The number of objects that are delivered immediately. 0 for no maximum size.
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxDelay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxDelay = maxDelay;
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxDelay < 0 || (maxDelay > 0 && maxDelay < delay)) {
+            throw new IllegalArgumentException("Maximum delay need to be 0 or not smaller than the delay!");
+        }
+        if (maxBatchSize < 0) {
+            throw new IllegalArgumentException("Maximum batch size must not be negative!");
+        }
+        for (int i = 0; i < flushCounts.length; i++) {
+            flushCounts[i] = new AtomicLong();
+        }
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay timer is rescheduled, but not beyond the maximum delay.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        long now = System.nanoTime();
+        batchStart.compareAndSet(0, now);
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+
+        int size = queueSize.incrementAndGet();
+
+        if (maxBatchSize > 0 && size >= maxBatchSize) {
+            cancel(futureRef.getAndSet(executor.schedule(() -> run(FlushReason.MAX_BATCH_SIZE), 0,
+                    TimeUnit.MILLISECONDS)));
+            return;
+        }
+
+        long nextDelay = delay;
+        FlushReason reason = FlushReason.DELAY;
+        long start = batchStart.get();
+        if (maxDelay > 0 && start != 0) {
+            long remaining = maxDelay - TimeUnit.NANOSECONDS.toMillis(now - start);
+            if (remaining < delay) {
+                nextDelay = Math.max(0, remaining);
+                reason = FlushReason.MAX_DELAY;
+            }
+        }
+        final FlushReason flushReason = reason;
+        cancel(futureRef.getAndSet(executor.schedule(() -> run(flushReason), nextDelay, TimeUnit.MILLISECONDS)));
     }
 
     /**
@@ -75,12 +155,7 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public List<T> join() {
         cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        return drain();
     }
 
     /**
@@ -96,17 +171,52 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public void forceProcessNow() {
         cancel(futureRef.getAndSet(null));
-        run();
+        run(FlushReason.FORCED);
+    }
+
+    /**
+     * Return the number of batches delivered to the target consumer so far.
+     */
+    public long getProcessedBatches() {
+        return processedBatches.get();
+    }
+
+    /**
+     * Return the number of objects delivered to the target consumer so far.
+     */
+    public long getProcessedObjects() {
+        return processedObjects.get();
+    }
+
+    /**
+     * Return the number of batches delivered to the target consumer so far for the given reason.
+     *
+     * @param reason A flush reason
+     */
+    public long getFlushCount(FlushReason reason) {
+        return flushCounts[reason.ordinal()].get();
     }
 
-    private void run() {
+    private List<T> drain() {
+        // Objects added from now on belong to the next batch
+        batchStart.set(0);
         List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        T t;
+        while ((t = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            lqueue.add(t);
         }
+        return lqueue;
+    }
+
+    private void run(FlushReason reason) {
+        List<T> lqueue = drain();
 
         if (!lqueue.isEmpty()) {
+            processedBatches.incrementAndGet();
+            processedObjects.addAndGet(lqueue.size());
+            flushCounts[reason.ordinal()].incrementAndGet();
+            logger.trace("Processing batch of {} objects ({})", lqueue.size(), reason);
             consumer.accept(lqueue);
         }
     }
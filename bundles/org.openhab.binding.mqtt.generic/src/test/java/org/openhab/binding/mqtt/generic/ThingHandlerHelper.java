@@ -13,7 +13,9 @@
 package org.openhab.binding.mqtt.generic;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 
 /**
  * @author David Graeff - Initial contribution
@@ -23,4 +25,8 @@ public class ThingHandlerHelper {
     public static void setConnection(AbstractMQTTThingHandler h, MqttBrokerConnection connection) {
         h.connection = connection;
     }
+
+    public static @Nullable MqttMessageSubscriber getSubscriber(AbstractMQTTThingHandler h, String topic) {
+        return h.messageDispatcher.getSubscriber(topic);
+    }
 }
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.transform.TransformationService;
+
+/**
+ * Tests the {@link TopicMessageDispatcher} class.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class TopicMessageDispatcherTests {
+
+    private static final ThingUID THING_UID = new ThingUID("mqtt", "topic", "thing");
+    private static final String JSON = "{\"temperature\": 23.2, \"humidity\": 45}";
+
+    private @Mock MqttBrokerConnection connection;
+    private @Mock MqttBrokerConnection newConnection;
+    private @Mock ChannelStateUpdateListener channelStateUpdateListener;
+    private @Mock TransformationService jsonPathService;
+    private @Mock TransformationServiceProvider transformationServiceProvider;
+
+    private ScheduledExecutorService scheduler;
+    private TopicMessageDispatcher dispatcher = new TopicMessageDispatcher();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        when(transformationServiceProvider.getTransformationService(anyString())).thenReturn(jsonPathService);
+        when(jsonPathService.transform(eq("$.temperature"), anyString())).thenReturn("23.2");
+        when(jsonPathService.transform(eq("$.humidity"), anyString())).thenReturn("45");
+
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private ChannelState createChannelState(String channelId, String transformation) {
+        ChannelState channelState = new ChannelState(ChannelConfigBuilder.create("state", null).build(),
+                new ChannelUID(THING_UID, channelId), new TextValue(), channelStateUpdateListener);
+        channelState.addTransformation(new ChannelStateTransformation(transformation, transformationServiceProvider));
+        channelState.setMessageDispatcher(dispatcher);
+        return channelState;
+    }
+
+    @Test
+    public void subscribesOncePerTopic() throws Exception {
+        ChannelState first = createChannelState("first", "JSONPATH:$.temperature");
+        ChannelState second = createChannelState("second", "JSONPATH:$.humidity");
+
+        first.start(connection, scheduler, 0).get();
+        second.start(connection, scheduler, 0).get();
+        verify(connection, times(1)).subscribe(eq("state"), any());
+
+        first.stop().get();
+        verify(connection, never()).unsubscribe(any(), any());
+        second.stop().get();
+        verify(connection, times(1)).unsubscribe(eq("state"), any());
+    }
+
+    @Test
+    public void sharesTransformationResults() throws Exception {
+        ChannelState first = createChannelState("first", "JSONPATH:$.temperature");
+        ChannelState second = createChannelState("second", "JSONPATH:$.temperature");
+        ChannelState third = createChannelState("third", "JSONPATH:$.humidity");
+        first.start(connection, scheduler, 0).get();
+        second.start(connection, scheduler, 0).get();
+        third.start(connection, scheduler, 0).get();
+
+        ArgumentCaptor<MqttMessageSubscriber> subscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("state"), subscriber.capture());
+        subscriber.getValue().processMessage("state", JSON.getBytes());
+
+        assertThat(first.getCache().getChannelState().toString(), is("23.2"));
+        assertThat(second.getCache().getChannelState().toString(), is("23.2"));
+        assertThat(third.getCache().getChannelState().toString(), is("45"));
+        verify(jsonPathService, times(1)).transform(eq("$.temperature"), eq(JSON));
+        verify(jsonPathService, times(1)).transform(eq("$.humidity"), eq(JSON));
+    }
+
+    @Test
+    public void unsubscribesPreviousConnection() throws Exception {
+        doReturn(CompletableFuture.completedFuture(true)).when(newConnection).subscribe(any(), any());
+        ChannelState channelState = createChannelState("first", "JSONPATH:$.temperature");
+        channelState.start(connection, scheduler, 0).get();
+        ArgumentCaptor<MqttMessageSubscriber> subscriber = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("state"), subscriber.capture());
+
+        channelState.start(newConnection, scheduler, 0).get();
+
+        verify(connection).unsubscribe(eq("state"), same(subscriber.getValue()));
+        verify(newConnection).subscribe(eq("state"), same(dispatcher.getSubscriber("state")));
+    }
+}
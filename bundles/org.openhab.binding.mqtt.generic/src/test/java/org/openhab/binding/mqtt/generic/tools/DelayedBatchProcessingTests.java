@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing.FlushReason;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+
+    private final List<List<String>> batches = new ArrayList<>();
+    private ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+
+    @BeforeEach
+    public void setUp() {
+        batches.clear();
+        doReturn(mock(ScheduledFuture.class)).when(executor).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    private Runnable lastScheduled(int times) {
+        ArgumentCaptor<Runnable> runnable = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(times)).schedule(runnable.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        return runnable.getValue();
+    }
+
+    @Test
+    public void deliversAfterDelay() {
+        DelayedBatchProcessing<String> processing = new DelayedBatchProcessing<>(100, batches::add, executor);
+        processing.accept("a");
+        processing.accept("b");
+
+        verify(executor, times(2)).schedule(any(Runnable.class), eq(100L), eq(TimeUnit.MILLISECONDS));
+        lastScheduled(2).run();
+
+        assertThat(batches, is(List.of(List.of("a", "b"))));
+        assertThat(processing.getProcessedBatches(), is(1L));
+        assertThat(processing.getProcessedObjects(), is(2L));
+        assertThat(processing.getFlushCount(FlushReason.DELAY), is(1L));
+    }
+
+    @Test
+    public void deliversAtMaxBatchSize() {
+        DelayedBatchProcessing<String> processing = new DelayedBatchProcessing<>(100, 0, 2, batches::add, executor);
+        processing.accept("a");
+        processing.accept("b");
+
+        verify(executor).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+        lastScheduled(2).run();
+
+        assertThat(batches, is(List.of(List.of("a", "b"))));
+        assertThat(processing.getFlushCount(FlushReason.MAX_BATCH_SIZE), is(1L));
+    }
+
+    @Test
+    public void deliversAtMaxDelay() throws InterruptedException {
+        DelayedBatchProcessing<String> processing = new DelayedBatchProcessing<>(100, 100, 0, batches::add, executor);
+        processing.accept("a");
+        Thread.sleep(20);
+        processing.accept("b");
+
+        // The second object must not postpone the delivery of the first one
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(executor, times(2)).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertThat(delay.getValue() <= 80L, is(true));
+        lastScheduled(2).run();
+
+        assertThat(batches, is(List.of(List.of("a", "b"))));
+        assertThat(processing.getFlushCount(FlushReason.MAX_DELAY), is(1L));
+    }
+
+    @Test
+    public void joinDoesNotDeliver() {
+        DelayedBatchProcessing<String> processing = new DelayedBatchProcessing<>(100, batches::add, executor);
+        processing.accept("a");
+
+        assertThat(processing.join(), is(List.of("a")));
+        processing.forceProcessNow();
+
+        assertThat(batches.isEmpty(), is(true));
+        assertThat(processing.getProcessedBatches(), is(0L));
+    }
+
+    @Test
+    public void invalidMaxDelay() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DelayedBatchProcessing<String>(100, 50, 0, batches::add, executor));
+    }
+}
@@ -13,8 +13,7 @@
 package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -61,13 +60,16 @@ import com.google.gson.GsonBuilder;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.mqttha")
 @NonNullByDefault
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
-    @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
-    protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
-    protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
+    protected final Map<String, Set<HaID>> componentsPerThingID = new ConcurrentHashMap<>();
+    protected final Map<String, ThingUID> thingIDPerTopic = new ConcurrentHashMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
 
-    private @Nullable ScheduledFuture<?> future;
+    // Last config payload per broker and topic, unchanged payloads are not parsed again
+    private final Map<String, byte[]> configPayloads = new ConcurrentHashMap<>();
+    // Pending publication of the discovery result per thing UID
+    private final Map<String, ScheduledFuture<?>> publishJobs = new ConcurrentHashMap<>();
+    private final int publishDelay;
     private final Gson gson;
 
     public static final Map<String, String> HA_COMP_TO_NAME = new TreeMap<>();
@@ -93,7 +95,21 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected MQTTTopicDiscoveryService mqttTopicDiscovery;
 
     public HomeAssistantDiscovery() {
-        super(null, 3, true, BASE_TOPIC + "/#");
+        this(2000);
+    }
+
+    /**
+     * Create the discovery service.
+     *
+     * @param publishDelay Time in milliseconds to wait for further components of a device before its discovery result
+     *            is published
+     */
+    HomeAssistantDiscovery(int publishDelay) {
+        // Topics can either be homeassistant/<component>/<node_id>/<object_id>/config or
+        // homeassistant/<component>/<object_id>/config. Subscribing to only these instead of homeassistant/# keeps the
+        // broker from sending all retained state messages below homeassistant/ to the discovery.
+        super(null, 3, true, List.of(BASE_TOPIC + "/+/+/config", BASE_TOPIC + "/+/+/+/config"));
+        this.publishDelay = publishDelay;
         this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
     }
 
@@ -126,27 +142,63 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         return typeProvider.getThingTypeUIDs();
     }
 
+    @Override
+    protected void startScan() {
+        // Subscribe again, so the broker sends all retained configs again. The known configs are forgotten in between,
+        // so all of them are published again and the components of a device are collected from scratch.
+        getDiscoveryService().unsubscribe(this);
+        clearCaches();
+        if (isBackgroundDiscoveryEnabled()) {
+            // the base class keeps the subscription of the background discovery and does not subscribe again
+            subscribeTopics.forEach(topic -> getDiscoveryService().subscribe(this, topic));
+        }
+        super.startScan();
+    }
+
+    @Override
+    protected void startBackgroundDiscovery() {
+        clearCaches();
+        super.startBackgroundDiscovery();
+    }
+
+    private void clearCaches() {
+        synchronized (configPayloads) {
+            configPayloads.clear();
+            componentsPerThingID.clear();
+            thingIDPerTopic.clear();
+            results.clear();
+        }
+    }
+
     @Override
     public void receivedMessage(ThingUID connectionBridge, MqttBrokerConnection connection, String topic,
             byte[] payload) {
         resetTimeout();
 
-        // For HomeAssistant we need to subscribe to a wildcard topic, because topics can either be:
-        // homeassistant/<component>/<node_id>/<object_id>/config OR
-        // homeassistant/<component>/<object_id>/config.
         // We check for the last part to filter all non-config topics out.
         if (!topic.endsWith("/config")) {
             return;
         }
 
-        // Reset the found-component timer.
-        // We will collect components for the thing label description for another 2 seconds.
-        final ScheduledFuture<?> future = this.future;
-        if (future != null) {
-            future.cancel(false);
+        // Brokers send all retained config messages again on every (re)subscription, skip the unchanged ones
+        final String payloadKey = connectionBridge.getAsString() + "/" + topic;
+        if (Arrays.equals(configPayloads.get(payloadKey), payload)) {
+            logger.trace("Skipping unchanged config on topic {}", topic);
+            return;
         }
-        this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
+        configPayloads.put(payloadKey, payload);
+
+        // Parse the config off the MQTT thread, so configs of several components are parsed in parallel
+        scheduler.execute(() -> {
+            try {
+                processConfig(connectionBridge, topic, payload, payloadKey);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to process config on topic {}: {}", topic, e.getMessage());
+            }
+        });
+    }
 
+    private void processConfig(ThingUID connectionBridge, String topic, byte[] payload, String payloadKey) {
         BaseChannelConfiguration config = BaseChannelConfiguration
                 .fromString(new String(payload, StandardCharsets.UTF_8), gson);
 
@@ -162,43 +214,61 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
         final ThingUID thingUID = new ThingUID(typeID, connectionBridge, thingID);
 
-        thingIDPerTopic.put(topic, thingUID);
+        synchronized (configPayloads) {
+            // A newer config for this topic has arrived or the topic has vanished in the meantime
+            if (!Arrays.equals(configPayloads.get(payloadKey), payload)) {
+                return;
+            }
 
-        // We need to keep track of already found component topics for a specific thing
-        Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
-        components.add(haID);
+            thingIDPerTopic.put(topic, thingUID);
 
-        final String componentNames = components.stream().map(id -> id.component)
-                .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
+            // We need to keep track of already found component topics for a specific thing
+            Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
+            components.add(haID);
 
-        final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
+            final String componentNames = components.stream().map(id -> id.component)
+                    .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
 
-        Map<String, Object> properties = new HashMap<>();
-        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
-        properties = handlerConfig.appendToProperties(properties);
-        properties = config.appendToProperties(properties);
-        properties.put("deviceId", thingID);
+            final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
 
-        // Because we need the new properties map with the updated "components" list
-        results.put(thingUID.getAsString(),
-                DiscoveryResultBuilder.create(thingUID).withProperties(properties)
-                        .withRepresentationProperty("deviceId").withBridge(connectionBridge)
-                        .withLabel(config.getThingName() + " (" + componentNames + ")").build());
-    }
+            Map<String, Object> properties = new HashMap<>();
+            HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
+            properties = handlerConfig.appendToProperties(properties);
+            properties = config.appendToProperties(properties);
+            properties.put("deviceId", thingID);
+
+            // Because we need the new properties map with the updated "components" list
+            results.put(thingUID.getAsString(),
+                    DiscoveryResultBuilder.create(thingUID).withProperties(properties)
+                            .withRepresentationProperty("deviceId").withBridge(connectionBridge)
+                            .withLabel(config.getThingName() + " (" + componentNames + ")").build());
+        }
 
-    protected void publishResults() {
-        Collection<DiscoveryResult> localResults;
+        schedulePublish(thingUID.getAsString());
+    }
 
-        localResults = new ArrayList<>(results.values());
-        results.clear();
-        componentsPerThingID.clear();
-        for (DiscoveryResult result : localResults) {
-            final ThingTypeUID typeID = result.getThingTypeUID();
-            ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
-            typeProvider.setThingTypeIfAbsent(typeID, type);
+    /**
+     * Publish the discovery result of a thing after a short delay, so the components of a device arriving together
+     * are published at once. Every device is published on its own, components arriving later update its result.
+     *
+     * @param thingUID the thing UID of the result
+     */
+    private void schedulePublish(String thingUID) {
+        publishJobs.compute(thingUID, (uid, job) -> job != null && !job.isDone() ? job
+                : scheduler.schedule(() -> publishResult(uid), publishDelay, TimeUnit.MILLISECONDS));
+    }
 
-            thingDiscovered(result);
+    protected void publishResult(String thingUID) {
+        publishJobs.remove(thingUID);
+        DiscoveryResult result = results.get(thingUID);
+        if (result == null) {
+            return;
         }
+        final ThingTypeUID typeID = result.getThingTypeUID();
+        ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
+        typeProvider.setThingTypeIfAbsent(typeID, type);
+
+        thingDiscovered(result);
     }
 
     @Override
@@ -206,17 +276,24 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
-            ThingUID thingUID = thingIDPerTopic.remove(topic);
+        ThingUID thingUID;
+        synchronized (configPayloads) {
+            configPayloads.remove(connectionBridge.getAsString() + "/" + topic);
+            thingUID = thingIDPerTopic.remove(topic);
+            if (thingUID == null) {
+                return;
+            }
             final String thingID = thingUID.getId();
 
             HaID haID = new HaID(topic);
 
             Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
             components.remove(haID);
-            if (components.isEmpty()) {
-                thingRemoved(thingUID);
+            if (!components.isEmpty()) {
+                return;
             }
+            results.remove(thingUID.getAsString());
         }
+        thingRemoved(thingUID);
     }
 }
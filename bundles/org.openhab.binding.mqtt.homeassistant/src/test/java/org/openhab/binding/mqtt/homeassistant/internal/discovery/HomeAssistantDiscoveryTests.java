@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryParticipant;
+import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryService;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
+import org.openhab.core.config.discovery.DiscoveryResult;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.type.ThingTypeBuilder;
+import org.openhab.core.thing.type.ThingTypeRegistry;
+
+/**
+ * Tests cases for {@link HomeAssistantDiscovery}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class HomeAssistantDiscoveryTests {
+
+    private static final ThingUID BRIDGE_UID = new ThingUID("mqtt:broker:bridge");
+    private static final String SWITCH_TOPIC = "homeassistant/switch/node/light/config";
+    private static final String SENSOR_TOPIC = "homeassistant/sensor/node/temperature/config";
+
+    private @Mock ThingTypeRegistry thingTypeRegistry;
+    private @Mock MqttBrokerConnection connection;
+    private @Mock MQTTTopicDiscoveryService discoveryService;
+
+    // Retained config messages, sent to the discovery by the mocked broker on every subscription
+    private final Map<String, byte[]> retainedConfigs = new LinkedHashMap<>();
+
+    private final BlockingQueue<DiscoveryResult> discovered = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ThingUID> removed = new LinkedBlockingQueue<>();
+
+    private HomeAssistantDiscovery discovery;
+
+    @BeforeEach
+    public void setUp() {
+        when(thingTypeRegistry.getThingType(MqttBindingConstants.HOMEASSISTANT_MQTT_THING))
+                .thenReturn(ThingTypeBuilder.instance(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, "HA").build());
+
+        discovery = new HomeAssistantDiscovery(100) {
+            @Override
+            protected void thingDiscovered(DiscoveryResult discoveryResult) {
+                discovered.add(discoveryResult);
+            }
+
+            @Override
+            protected void thingRemoved(ThingUID thingUID) {
+                removed.add(thingUID);
+            }
+        };
+        discovery.setTypeProvider(new MqttChannelTypeProvider(thingTypeRegistry));
+
+        doAnswer(invocation -> {
+            MQTTTopicDiscoveryParticipant participant = invocation.getArgument(0);
+            if ("homeassistant/+/+/+/config".equals(invocation.getArgument(1))) {
+                retainedConfigs.forEach((topic, payload) -> participant.receivedMessage(BRIDGE_UID, connection, topic,
+                        payload));
+            }
+            return null;
+        }).when(discoveryService).subscribe(any(), anyString());
+        discovery.setMQTTTopicDiscoveryService(discoveryService);
+    }
+
+    private static byte[] config(String name, String deviceName) {
+        return ("{\"name\":\"" + name + "\",\"device\":{\"ids\":[\"dev1\"],\"name\":\"" + deviceName + "\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private DiscoveryResult nextResult() throws InterruptedException {
+        DiscoveryResult result = discovered.poll(5, TimeUnit.SECONDS);
+        assertThat(result, is(notNullValue()));
+        return result;
+    }
+
+    private void assertNoResult() throws InterruptedException {
+        assertThat(discovered.poll(500, TimeUnit.MILLISECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void unchangedPayloadIsSkipped() throws InterruptedException {
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Kitchen"));
+        assertThat(nextResult().getLabel(), is("Kitchen (Switch)"));
+
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Kitchen"));
+        assertNoResult();
+    }
+
+    @Test
+    public void changedPayloadIsPublishedAgain() throws InterruptedException {
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Kitchen"));
+        assertThat(nextResult().getLabel(), is("Kitchen (Switch)"));
+
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Living room"));
+        assertThat(nextResult().getLabel(), is("Living room (Switch)"));
+    }
+
+    @Test
+    public void laterComponentUpdatesResult() throws InterruptedException {
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Kitchen"));
+        DiscoveryResult first = nextResult();
+        assertThat((List<?>) first.getProperties().get("topics"), is(List.of("switch/node/light")));
+
+        discovery.receivedMessage(BRIDGE_UID, connection, SENSOR_TOPIC, config("Temperature", "Kitchen"));
+        DiscoveryResult second = nextResult();
+        assertThat(second.getThingUID(), is(first.getThingUID()));
+        assertThat(((List<?>) second.getProperties().get("topics")).size(), is(2));
+        assertThat(discovery.results.size(), is(1));
+    }
+
+    @Test
+    public void topicVanishedWhileParsing() throws InterruptedException {
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Kitchen"));
+        discovery.topicVanished(BRIDGE_UID, connection, SWITCH_TOPIC);
+
+        assertNoResult();
+        assertThat(discovery.results.isEmpty(), is(true));
+        assertThat(discovery.thingIDPerTopic.isEmpty(), is(true));
+    }
+
+    @Test
+    public void topicVanishedRemovesResult() throws InterruptedException {
+        discovery.receivedMessage(BRIDGE_UID, connection, SWITCH_TOPIC, config("Light", "Kitchen"));
+        DiscoveryResult result = nextResult();
+
+        discovery.topicVanished(BRIDGE_UID, connection, SWITCH_TOPIC);
+        assertThat(removed.poll(), is(result.getThingUID()));
+        assertThat(discovery.results.isEmpty(), is(true));
+    }
+
+    private DiscoveryResult nextResultWithTopics(int count) throws InterruptedException {
+        DiscoveryResult result = nextResult();
+        // components arriving after the publish delay update the result of the device
+        while (((List<?>) result.getProperties().get("topics")).size() < count) {
+            result = nextResult();
+        }
+        return result;
+    }
+
+    @Test
+    public void rescanPublishesAgain() throws InterruptedException {
+        retainedConfigs.put(SWITCH_TOPIC, config("Light", "Kitchen"));
+        retainedConfigs.put(SENSOR_TOPIC, config("Temperature", "Kitchen"));
+        discovery.startBackgroundDiscovery();
+        DiscoveryResult result = nextResultWithTopics(2);
+        discovered.clear();
+
+        discovery.startScan();
+
+        verify(discoveryService).unsubscribe(discovery);
+        verify(discoveryService, times(2)).subscribe(discovery, "homeassistant/+/+/+/config");
+        DiscoveryResult rescanned = nextResultWithTopics(2);
+        assertThat(rescanned.getThingUID(), is(result.getThingUID()));
+        assertThat(rescanned.getLabel(), is(result.getLabel()));
+    }
+
+    @Test
+    public void rescanKeepsComponentsOfDevice() throws InterruptedException {
+        retainedConfigs.put(SWITCH_TOPIC, config("Light", "Kitchen"));
+        retainedConfigs.put(SENSOR_TOPIC, config("Temperature", "Kitchen"));
+        discovery.startBackgroundDiscovery();
+        nextResultWithTopics(2);
+        discovered.clear();
+
+        discovery.startScan();
+        nextResultWithTopics(2);
+
+        // The device still has its switch, so it must not be removed
+        discovery.topicVanished(BRIDGE_UID, connection, SENSOR_TOPIC);
+        assertThat(removed.poll(500, TimeUnit.MILLISECONDS), is(nullValue()));
+        assertThat(discovery.results.size(), is(1));
+    }
+}
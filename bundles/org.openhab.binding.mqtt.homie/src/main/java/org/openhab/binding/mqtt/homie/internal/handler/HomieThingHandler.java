@@ -80,7 +80,9 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
         this.deviceTimeout = deviceTimeout;
         this.subscribeTimeout = subscribeTimeout;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, this, scheduler);
+        // A device continuously publishing attributes must not postpone adding its channels forever
+        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, 4 * subscribeTimeout, 0, this,
+                scheduler);
         this.device = new Device(this.thing.getUID(), this, new DeviceAttributes());
     }
 
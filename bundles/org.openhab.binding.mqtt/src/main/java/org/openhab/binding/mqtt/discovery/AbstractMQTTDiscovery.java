@@ -13,6 +13,7 @@
 package org.openhab.binding.mqtt.discovery;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +44,7 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
     private final Logger logger = LoggerFactory.getLogger(AbstractMQTTDiscovery.class);
 
     protected final String subscribeTopic;
+    protected final List<String> subscribeTopics;
 
     private int timeout;
 
@@ -52,9 +54,35 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
             boolean backgroundDiscoveryEnabledByDefault, String baseTopic) {
         super(supportedThingTypes, 0, backgroundDiscoveryEnabledByDefault);
         this.subscribeTopic = baseTopic;
+        this.subscribeTopics = List.of(baseTopic);
         this.timeout = timeout;
     }
 
+    /**
+     * Creates a discovery service subscribing to several topics. Prefer several narrow topics over one broad wildcard
+     * topic, the broker sends every retained message matching the subscribed topics when discovery starts.
+     *
+     * @param supportedThingTypes The supported thing types
+     * @param timeout The timeout of a scan, in seconds
+     * @param backgroundDiscoveryEnabledByDefault Whether background discovery is enabled by default
+     * @param subscribeTopics The topics to subscribe to, can contain wildcards. The first one is also available as
+     *            {@link #subscribeTopic}.
+     */
+    public AbstractMQTTDiscovery(@Nullable Set<ThingTypeUID> supportedThingTypes, int timeout,
+            boolean backgroundDiscoveryEnabledByDefault, List<String> subscribeTopics) {
+        super(supportedThingTypes, 0, backgroundDiscoveryEnabledByDefault);
+        if (subscribeTopics.isEmpty()) {
+            throw new IllegalArgumentException("At least one topic to subscribe to is required");
+        }
+        this.subscribeTopic = subscribeTopics.get(0);
+        this.subscribeTopics = List.copyOf(subscribeTopics);
+        this.timeout = timeout;
+    }
+
+    private void subscribe() {
+        subscribeTopics.forEach(topic -> getDiscoveryService().subscribe(this, topic));
+    }
+
     /**
      * Return the topic discovery service.
      */
@@ -94,7 +122,7 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
             return;
         }
         resetTimeout();
-        getDiscoveryService().subscribe(this, subscribeTopic);
+        subscribe();
     }
 
     @Override
@@ -118,7 +146,7 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
     protected void startBackgroundDiscovery() {
         // Remove results that are restored after a restart
         removeOlderResults(new Date().getTime());
-        getDiscoveryService().subscribe(this, subscribeTopic);
+        subscribe();
     }
 
     @Override
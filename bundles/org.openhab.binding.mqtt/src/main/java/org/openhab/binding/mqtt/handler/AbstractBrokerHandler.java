@@ -15,18 +15,22 @@ package org.openhab.binding.mqtt.handler;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryParticipant;
-import org.openhab.binding.mqtt.discovery.TopicSubscribe;
+import org.openhab.binding.mqtt.internal.TopicTrie;
 import org.openhab.binding.mqtt.internal.action.MQTTActions;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttConnectionObserver;
 import org.openhab.core.io.transport.mqtt.MqttConnectionState;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.io.transport.mqtt.MqttService;
 import org.openhab.core.thing.*;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
@@ -40,6 +44,9 @@ import org.slf4j.LoggerFactory;
  * and puts the Thing on or offline. It also handles adding/removing notifications of the
  * {@link MqttService} and provides a basic dispose() implementation.
  *
+ * Discovery participants are kept in a {@link TopicTrie} by their topic filters. Every topic filter is subscribed only
+ * once on the broker connection, and received messages are routed to the participants of all matching filters.
+ *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
@@ -48,7 +55,8 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
-    private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
+    private final TopicTrie<MQTTTopicDiscoveryParticipant> discoveryParticipants = new TopicTrie<>();
+    private final Map<String, DiscoverySubscription> discoverySubscriptions = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
@@ -116,28 +124,14 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         });
         connectionFuture.complete(connection);
 
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
-                if (oldTopicSubscribe.isStarted()) {
-                    oldTopicSubscribe.stop();
-                }
-
-                TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-                if (discoveryEnabled()) {
-                    topicSubscribe.start().handle((result, ex) -> {
-                        if (ex != null) {
-                            logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        } else {
-                            logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
-                }
-                return topicSubscribe;
+        synchronized (discoverySubscriptions) {
+            discoverySubscriptions.replaceAll((topic, oldSubscription) -> {
+                oldSubscription.stop();
+                DiscoverySubscription subscription = new DiscoverySubscription(connection, topic);
+                subscription.start();
+                return subscription;
             });
-        });
+        }
     }
 
     @Override
@@ -169,11 +163,9 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         channelStateByChannelUID.clear();
 
         // keep topics, but stop subscriptions
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.forEach((listener, topicSubscribe) -> {
-                topicSubscribe.stop();
-            });
-        });
+        synchronized (discoverySubscriptions) {
+            discoverySubscriptions.values().forEach(DiscoverySubscription::stop);
+        }
 
         if (connection != null) {
             connection.removeConnectionObserver(this);
@@ -193,30 +185,17 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @param topic the topic (wildcards supported)
      */
     public final void registerDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics
-                .computeIfAbsent(topic, t -> new HashMap<>());
-        topicListeners.compute(listener, (k, v) -> {
-            if (v != null) {
+        synchronized (discoverySubscriptions) {
+            if (!discoveryParticipants.add(topic, listener)) {
                 logger.warn("Duplicate subscription for {} to discovery topic {} on broker {}. Check discovery logic!",
                         listener, topic, thing.getUID());
-                v.stop();
             }
-
-            TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-            if (discoveryEnabled()) {
-                topicSubscribe.start().handle((result, ex) -> {
-                    if (ex != null) {
-                        logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    } else {
-                        logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    }
-                    return null;
-                });
+            if (!discoverySubscriptions.containsKey(topic)) {
+                DiscoverySubscription subscription = new DiscoverySubscription(connection, topic);
+                discoverySubscriptions.put(topic, subscription);
+                subscription.start();
             }
-            return topicSubscribe;
-        });
+        }
     }
 
     /**
@@ -226,28 +205,21 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @param topic the topic (as specified during registration)
      */
     public final void unregisterDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics.compute(topic,
-                (k, v) -> {
-                    if (v == null) {
-                        logger.warn(
-                                "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered at all. Check discovery logic!",
-                                listener, topic, thing.getUID());
-                        return null;
-                    }
-                    v.compute(listener, (l, w) -> {
-                        if (w == null) {
-                            logger.warn(
-                                    "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
-                                    listener, topic, thing.getUID());
-                        } else {
-                            w.stop();
-                            logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
-                    return v.isEmpty() ? null : v;
-                });
+        synchronized (discoverySubscriptions) {
+            if (!discoveryParticipants.remove(topic, listener)) {
+                logger.warn(
+                        "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
+                        listener, topic, thing.getUID());
+                return;
+            }
+            logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic, thing.getUID());
+            if (discoveryParticipants.get(topic).isEmpty()) {
+                DiscoverySubscription subscription = discoverySubscriptions.remove(topic);
+                if (subscription != null) {
+                    subscription.stop();
+                }
+            }
+        }
     }
 
     /**
@@ -256,4 +228,66 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
      * @return true if discovery disabled
      */
     public abstract boolean discoveryEnabled();
+
+    /**
+     * The subscription of a discovery topic filter on the broker connection, shared by all participants of the filter.
+     */
+    private class DiscoverySubscription implements MqttMessageSubscriber {
+        private final @Nullable MqttBrokerConnection connection;
+        private final String topic;
+        private boolean started = false;
+
+        private DiscoverySubscription(@Nullable MqttBrokerConnection connection, String topic) {
+            this.connection = connection;
+            this.topic = topic;
+        }
+
+        private void start() {
+            final MqttBrokerConnection connection = this.connection;
+            if (connection == null || !discoveryEnabled()) {
+                return;
+            }
+            started = true;
+            connection.subscribe(topic, this).handle((result, ex) -> {
+                if (ex != null) {
+                    logger.warn("Failed to subscribe to discovery topic {} on broker {}", topic, thing.getUID());
+                } else {
+                    logger.trace("Subscribed to discovery topic {} on broker {}", topic, thing.getUID());
+                }
+                return null;
+            });
+        }
+
+        private void stop() {
+            final MqttBrokerConnection connection = this.connection;
+            if (connection != null && started) {
+                connection.unsubscribe(topic, this);
+            }
+            started = false;
+        }
+
+        @Override
+        public void processMessage(String receivedTopic, byte[] payload) {
+            final MqttBrokerConnection connection = this.connection;
+            if (connection == null) {
+                return;
+            }
+            final SortedMap<String, Set<MQTTTopicDiscoveryParticipant>> matches = discoveryParticipants
+                    .match(receivedTopic);
+            // The connection passes a message to the subscriptions of all matching filters. Only the subscription of
+            // the first matching filter routes it, so every participant receives it once.
+            if (matches.isEmpty() || !topic.equals(matches.firstKey())) {
+                return;
+            }
+            final Set<MQTTTopicDiscoveryParticipant> participants = new LinkedHashSet<>();
+            matches.values().forEach(participants::addAll);
+            for (MQTTTopicDiscoveryParticipant participant : participants) {
+                if (payload.length > 0) {
+                    participant.receivedMessage(thing.getUID(), connection, receivedTopic, payload);
+                } else {
+                    participant.topicVanished(thing.getUID(), connection, receivedTopic);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Values registered for MQTT topic filters, stored in a tree with one level of the topic filter per node.
+ *
+ * The filters can contain the single level wildcard {@code +} and the multi level wildcard {@code #}. Finding the
+ * values of all filters matching a topic only follows the levels of the topic and the wildcard nodes on the way, so it
+ * takes time in the order of the topic depth, not of the number of registered filters. As required by MQTT, topics
+ * starting with {@code $} are not matched by filters starting with a wildcard.
+ *
+ * This class is thread-safe.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> The type of the values
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private final Node<T> root = new Node<>(null);
+
+    /**
+     * Adds a value for a topic filter.
+     *
+     * @param filter The topic filter, can contain wildcards
+     * @param value The value
+     * @return true if the value was added, false if it was already registered for the filter
+     */
+    public synchronized boolean add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            final Node<T> parent = node;
+            node = node.children.computeIfAbsent(level, l -> new Node<>(parent));
+        }
+        node.filter = filter;
+        return node.values.add(value);
+    }
+
+    /**
+     * Removes a value of a topic filter.
+     *
+     * @param filter The topic filter as it was added
+     * @param value The value
+     * @return true if the value was removed, false if it was not registered for the filter
+     */
+    public synchronized boolean remove(String filter, T value) {
+        final String[] levels = filter.split("/", -1);
+        final Node<T> node = find(levels);
+        if (node == null || !node.values.remove(value)) {
+            return false;
+        }
+        // remove the nodes that are not needed anymore, starting at the leaf
+        Node<T> current = node;
+        for (int i = levels.length - 1; i >= 0 && current.isEmpty(); i--) {
+            final Node<T> parent = current.parent;
+            if (parent == null) {
+                break;
+            }
+            parent.children.remove(levels[i]);
+            current = parent;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values of a topic filter.
+     *
+     * @param filter The topic filter as it was added
+     * @return The values, empty if there are none
+     */
+    public synchronized Set<T> get(String filter) {
+        final Node<T> node = find(filter.split("/", -1));
+        return node == null ? Collections.emptySet() : new LinkedHashSet<>(node.values);
+    }
+
+    /**
+     * Returns the values of all filters matching a topic.
+     *
+     * @param topic A topic without wildcards, like the topic of a received message
+     * @return The values by the filters matching the topic, sorted by filter
+     */
+    public synchronized SortedMap<String, Set<T>> match(String topic) {
+        final SortedMap<String, Set<T>> matches = new TreeMap<>();
+        final String[] levels = topic.split("/", -1);
+        match(root, levels, 0, !topic.startsWith("$"), matches);
+        return matches;
+    }
+
+    public synchronized boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    private void match(Node<T> node, String[] levels, int index, boolean wildcards,
+            SortedMap<String, Set<T>> matches) {
+        if (wildcards) {
+            // a multi level wildcard also matches the parent level
+            final Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multiLevel != null) {
+                multiLevel.addTo(matches);
+            }
+        }
+        if (index == levels.length) {
+            node.addTo(matches);
+            return;
+        }
+        final Node<T> exact = node.children.get(levels[index]);
+        if (exact != null) {
+            match(exact, levels, index + 1, true, matches);
+        }
+        if (wildcards) {
+            final Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (singleLevel != null) {
+                match(singleLevel, levels, index + 1, true, matches);
+            }
+        }
+    }
+
+    private @Nullable Node<T> find(String[] levels) {
+        Node<T> node = root;
+        for (String level : levels) {
+            node = node.children.get(level);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static class Node<T> {
+        private final @Nullable Node<T> parent;
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final Set<T> values = new LinkedHashSet<>();
+        private @Nullable String filter;
+
+        private Node(@Nullable Node<T> parent) {
+            this.parent = parent;
+        }
+
+        private boolean isEmpty() {
+            return values.isEmpty() && children.isEmpty();
+        }
+
+        private void addTo(SortedMap<String, Set<T>> matches) {
+            final String filter = this.filter;
+            if (filter != null && !values.isEmpty()) {
+                matches.put(filter, new LinkedHashSet<>(values));
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.internal;
 
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -62,6 +63,9 @@ public class MQTTTopicDiscoveryServiceTest {
     @Mock
     MQTTTopicDiscoveryParticipant listener;
 
+    @Mock
+    MQTTTopicDiscoveryParticipant otherListener;
+
     private MqttBrokerConnectionEx connection;
 
     private BrokerHandler handler;
@@ -150,4 +154,49 @@ public class MQTTTopicDiscoveryServiceTest {
         connection.getSubscribers().get("topic").messageArrived("topic", bytes, false);
         verify(listener).topicVanished(eq(thing.getUID()), eq(connection), eq("topic"));
     }
+
+    @Test
+    public void sameTopicSubscribedOnce() {
+        handler.initialize();
+        BrokerHandlerEx.verifyCreateBrokerConnection(handler, 1);
+
+        subject.createdHandler(handler);
+        subject.subscribe(listener, "topic");
+        subject.subscribe(otherListener, "topic");
+        verify(connection, times(1)).subscribe(eq("topic"), any());
+
+        final byte[] bytes = "TEST".getBytes();
+        connection.getSubscribers().get("topic").messageArrived("topic", bytes, false);
+        verify(listener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic"), eq(bytes));
+        verify(otherListener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic"), eq(bytes));
+
+        subject.unsubscribe(listener);
+        verify(connection, never()).unsubscribe(eq("topic"), any());
+        subject.unsubscribe(otherListener);
+        verify(connection).unsubscribe(eq("topic"), any());
+    }
+
+    @Test
+    public void overlappingTopicsReceiveMessageOnce() {
+        handler.initialize();
+        BrokerHandlerEx.verifyCreateBrokerConnection(handler, 1);
+
+        subject.createdHandler(handler);
+        subject.subscribe(listener, "homeassistant/+/+/config");
+        subject.subscribe(otherListener, "homeassistant/#");
+
+        // The connection passes the message to the subscriptions of both filters
+        final String topic = "homeassistant/sensor/device/config";
+        final byte[] bytes = "TEST".getBytes();
+        connection.getSubscribers().get("homeassistant/+/+/config").messageArrived(topic, bytes, false);
+        connection.getSubscribers().get("homeassistant/#").messageArrived(topic, bytes, false);
+        verify(listener, times(1)).receivedMessage(eq(thing.getUID()), eq(connection), eq(topic), eq(bytes));
+        verify(otherListener, times(1)).receivedMessage(eq(thing.getUID()), eq(connection), eq(topic), eq(bytes));
+
+        // Only the wildcard filter matches the state topic
+        final String stateTopic = "homeassistant/sensor/device/state";
+        connection.getSubscribers().get("homeassistant/#").messageArrived(stateTopic, bytes, false);
+        verify(listener, never()).receivedMessage(any(), any(), eq(stateTopic), any());
+        verify(otherListener).receivedMessage(eq(thing.getUID()), eq(connection), eq(stateTopic), eq(bytes));
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TopicTrie} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class TopicTrieTest {
+
+    private TopicTrie<String> trie;
+
+    @BeforeEach
+    public void setUp() {
+        trie = new TopicTrie<>();
+    }
+
+    private List<String> matchingFilters(String topic) {
+        return List.copyOf(trie.match(topic).keySet());
+    }
+
+    @Test
+    public void exactFilter() {
+        trie.add("a/b", "x");
+
+        assertEquals(List.of("a/b"), matchingFilters("a/b"));
+        assertEquals(List.of(), matchingFilters("a"));
+        assertEquals(List.of(), matchingFilters("a/b/c"));
+        assertEquals(List.of(), matchingFilters("a/c"));
+    }
+
+    @Test
+    public void singleLevelWildcard() {
+        trie.add("a/+/c", "x");
+        trie.add("+", "y");
+
+        assertEquals(List.of("a/+/c"), matchingFilters("a/b/c"));
+        assertEquals(List.of("a/+/c"), matchingFilters("a//c"));
+        assertEquals(List.of(), matchingFilters("a/b/c/d"));
+        assertEquals(List.of(), matchingFilters("a/c"));
+        assertEquals(List.of("+"), matchingFilters("a"));
+        assertEquals(List.of(), matchingFilters("a/b"));
+    }
+
+    @Test
+    public void multiLevelWildcard() {
+        trie.add("a/#", "x");
+        trie.add("#", "y");
+
+        assertEquals(List.of("#", "a/#"), matchingFilters("a"));
+        assertEquals(List.of("#", "a/#"), matchingFilters("a/b"));
+        assertEquals(List.of("#", "a/#"), matchingFilters("a/b/c"));
+        assertEquals(List.of("#"), matchingFilters("b/a"));
+    }
+
+    @Test
+    public void overlappingFilters() {
+        trie.add("homeassistant/+/+/config", "config");
+        trie.add("homeassistant/+/+/+/config", "config");
+        trie.add("homeassistant/#", "all");
+        trie.add("homeassistant/sensor/+/config", "sensor");
+
+        Map<String, Set<String>> matches = trie.match("homeassistant/sensor/device/config");
+        assertEquals(List.of("homeassistant/#", "homeassistant/+/+/config", "homeassistant/sensor/+/config"),
+                List.copyOf(matches.keySet()));
+        assertEquals(Set.of("all"), matches.get("homeassistant/#"));
+        assertEquals(Set.of("config"), matches.get("homeassistant/+/+/config"));
+        assertEquals(Set.of("sensor"), matches.get("homeassistant/sensor/+/config"));
+
+        assertEquals(List.of("homeassistant/#", "homeassistant/+/+/+/config"),
+                matchingFilters("homeassistant/light/node/device/config"));
+        assertEquals(List.of("homeassistant/#"), matchingFilters("homeassistant/sensor/device/state"));
+    }
+
+    @Test
+    public void systemTopicsNotMatchedByLeadingWildcards() {
+        trie.add("#", "x");
+        trie.add("+/broker", "y");
+        trie.add("$SYS/#", "z");
+
+        assertEquals(List.of("$SYS/#"), matchingFilters("$SYS/broker"));
+        assertEquals(List.of("#", "+/broker"), matchingFilters("SYS/broker"));
+    }
+
+    @Test
+    public void addAndRemove() {
+        assertTrue(trie.add("a/+", "x"));
+        assertFalse(trie.add("a/+", "x"));
+        assertTrue(trie.add("a/+", "y"));
+        assertTrue(trie.add("a/b/#", "z"));
+        assertEquals(Set.of("x", "y"), trie.get("a/+"));
+        assertEquals(Set.of("x", "y"), trie.match("a/b").get("a/+"));
+
+        assertTrue(trie.remove("a/+", "x"));
+        assertFalse(trie.remove("a/+", "x"));
+        assertFalse(trie.remove("a/b", "y"));
+        assertEquals(Set.of("y"), trie.get("a/+"));
+
+        assertTrue(trie.remove("a/+", "y"));
+        assertEquals(Set.of(), trie.get("a/+"));
+        assertEquals(List.of("a/b/#"), matchingFilters("a/b"));
+
+        assertTrue(trie.remove("a/b/#", "z"));
+        assertEquals(List.of(), matchingFilters("a/b"));
+        assertTrue(trie.isEmpty());
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonServiceException.ErrorType;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+/**
+ * Writes items to DynamoDB with parallel BatchWriteItem requests using the asynchronous client.
+ *
+ * The write requests are split into batches of at most {@link #MAX_ITEMS_PER_BATCH} items (the DynamoDB limit) which
+ * are all sent at once. Unprocessed items and items of requests that failed with a retriable error are retried with
+ * exponential back-off and jitter. Items of requests that failed with a non-retriable error are not retried, but
+ * returned as unprocessed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+
+    static final int MAX_ITEMS_PER_BATCH = 25;
+
+    private static final long BASE_WAIT_MILLIS = 100;
+    private static final int MAX_RETRIES = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+    private final AmazonDynamoDBAsync client;
+
+    public DynamoDBBatchWriter(AmazonDynamoDBAsync client) {
+        this.client = client;
+    }
+
+    /**
+     * Write the given requests and wait until they have been processed
+     *
+     * @param requestsByTable write requests by table name
+     * @return the write requests that could not be written, either because the request failed with a non-retriable
+     *         error or because they were not written even after retries, by table name
+     * @throws InterruptedException if interrupted while waiting for the requests
+     */
+    public Map<String, List<WriteRequest>> write(Map<String, List<WriteRequest>> requestsByTable)
+            throws InterruptedException {
+        Map<String, List<WriteRequest>> pending = requestsByTable;
+        Map<String, List<WriteRequest>> failed = new HashMap<>();
+        int retry = 0;
+        for (;;) {
+            List<Map<String, List<WriteRequest>>> batches = splitIntoBatches(pending);
+            List<Future<BatchWriteItemResult>> futures = new ArrayList<>(batches.size());
+            for (Map<String, List<WriteRequest>> batch : batches) {
+                futures.add(client.batchWriteItemAsync(new BatchWriteItemRequest(batch)));
+            }
+
+            Map<String, List<WriteRequest>> unprocessed = new HashMap<>();
+            @Nullable
+            Exception lastException = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    Map<String, List<WriteRequest>> unprocessedItems = futures.get(i).get().getUnprocessedItems();
+                    if (unprocessedItems != null) {
+                        merge(unprocessed, unprocessedItems);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    lastException = cause instanceof Exception ? (Exception) cause : e;
+                    if (isRetriable(cause)) {
+                        merge(unprocessed, batches.get(i));
+                    } else {
+                        logger.warn("BatchWriteItem failed: {}. Not retrying items: {}", cause.getMessage(),
+                                batches.get(i));
+                        merge(failed, batches.get(i));
+                    }
+                }
+            }
+
+            if (unprocessed.isEmpty()) {
+                if (retry > 0 && failed.isEmpty()) {
+                    logger.debug("After {} retries successfully wrote all unprocessed items", retry);
+                }
+                return failed;
+            }
+            if (retry >= MAX_RETRIES) {
+                logger.debug("Giving up after {} retries. Last exception: {}", retry,
+                        lastException == null ? "null" : lastException.getMessage());
+                merge(failed, unprocessed);
+                return failed;
+            }
+            long sleepTime = ThreadLocalRandom.current().nextLong(BASE_WAIT_MILLIS << retry) + 1;
+            logger.debug("{} items were not written, retrying in {} ms", count(unprocessed), sleepTime);
+            Thread.sleep(sleepTime);
+            retry++;
+            pending = unprocessed;
+        }
+    }
+
+    private boolean isRetriable(Throwable cause) {
+        if (cause instanceof ResourceNotFoundException) {
+            // table might have been created just now
+            return true;
+        }
+        if (cause instanceof AmazonServiceException) {
+            AmazonServiceException e = (AmazonServiceException) cause;
+            return e.getErrorType() != ErrorType.Client || RetryUtils.isThrottlingException(e);
+        }
+        // client side errors, e.g. network problems
+        return true;
+    }
+
+    /**
+     * Split write requests into batches that do not exceed the number of items allowed in one BatchWriteItem
+     * request
+     *
+     * @param requestsByTable write requests by table name
+     * @return batches of write requests by table name
+     */
+    static List<Map<String, List<WriteRequest>>> splitIntoBatches(Map<String, List<WriteRequest>> requestsByTable) {
+        List<Map<String, List<WriteRequest>>> batches = new ArrayList<>();
+        Map<String, List<WriteRequest>> batch = new HashMap<>();
+        int batchCount = 0;
+        for (Entry<String, List<WriteRequest>> entry : requestsByTable.entrySet()) {
+            List<WriteRequest> requests = entry.getValue();
+            int index = 0;
+            while (index < requests.size()) {
+                int count = Math.min(MAX_ITEMS_PER_BATCH - batchCount, requests.size() - index);
+                batch.put(entry.getKey(), new ArrayList<>(requests.subList(index, index + count)));
+                index += count;
+                batchCount += count;
+                if (batchCount == MAX_ITEMS_PER_BATCH) {
+                    batches.add(batch);
+                    batch = new HashMap<>();
+                    batchCount = 0;
+                }
+            }
+        }
+        if (batchCount > 0) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void merge(Map<String, List<WriteRequest>> target, Map<String, List<WriteRequest>> source) {
+        source.forEach((table, requests) -> target.computeIfAbsent(table, t -> new ArrayList<>()).addAll(requests));
+    }
+
+    private static int count(Map<String, List<WriteRequest>> requestsByTable) {
+        return requestsByTable.values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -12,13 +12,19 @@
  */
 package org.openhab.persistence.dynamodb.internal;
 
+import java.util.concurrent.Executors;
+
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsyncClientBuilder;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.document.DynamoDB;
 
@@ -31,27 +37,69 @@ public class DynamoDBClient {
     private final Logger logger = LoggerFactory.getLogger(DynamoDBClient.class);
     private DynamoDB dynamo;
     private AmazonDynamoDB client;
+    private AmazonDynamoDBAsync asyncClient;
 
     public DynamoDBClient(AWSCredentials credentials, Regions region) {
-        client = AmazonDynamoDBClientBuilder.standard().withRegion(region)
-                .withCredentials(new AWSStaticCredentialsProvider(credentials)).build();
+        this(credentials, region, null, 0);
+    }
+
+    /**
+     * @param credentials AWS credentials
+     * @param region AWS region
+     * @param endpoint endpoint to use instead of the AWS endpoint of the region, or null
+     * @param maxConcurrentWrites number of threads of the asynchronous client. No asynchronous client is created when
+     *            zero.
+     */
+    public DynamoDBClient(AWSCredentials credentials, Regions region, String endpoint, int maxConcurrentWrites) {
+        AWSStaticCredentialsProvider credentialsProvider = new AWSStaticCredentialsProvider(credentials);
+        AmazonDynamoDBClientBuilder builder = AmazonDynamoDBClientBuilder.standard()
+                .withCredentials(credentialsProvider);
+        if (endpoint == null) {
+            builder.withRegion(region);
+        } else {
+            builder.withEndpointConfiguration(new EndpointConfiguration(endpoint, region.getName()));
+        }
+        client = builder.build();
         dynamo = new DynamoDB(client);
+
+        if (maxConcurrentWrites > 0) {
+            AmazonDynamoDBAsyncClientBuilder asyncBuilder = AmazonDynamoDBAsyncClientBuilder.standard()
+                    .withCredentials(credentialsProvider).withExecutorFactory(() -> Executors
+                            .newFixedThreadPool(maxConcurrentWrites, new NamedThreadFactory("dynamodb-writer")));
+            if (endpoint == null) {
+                asyncBuilder.withRegion(region);
+            } else {
+                asyncBuilder.withEndpointConfiguration(new EndpointConfiguration(endpoint, region.getName()));
+            }
+            asyncClient = asyncBuilder.build();
+        }
     }
 
     public DynamoDBClient(DynamoDBConfig clientConfig) {
-        this(clientConfig.getCredentials(), clientConfig.getRegion());
+        this(clientConfig.getCredentials(), clientConfig.getRegion(), clientConfig.getEndpoint(),
+                clientConfig.getMaxConcurrentWrites());
     }
 
     public AmazonDynamoDB getDynamoClient() {
         return client;
     }
 
+    /**
+     * @return asynchronous client used for parallel writes, or null if parallel writes are not configured
+     */
+    public AmazonDynamoDBAsync getDynamoAsyncClient() {
+        return asyncClient;
+    }
+
     public DynamoDB getDynamoDB() {
         return dynamo;
     }
 
     public void shutdown() {
         dynamo.shutdown();
+        if (asyncClient != null) {
+            asyncClient.shutdown();
+        }
     }
 
     public boolean checkConnection() {
@@ -39,6 +39,7 @@ public class DynamoDBConfig {
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
     public static final long DEFAULT_BUFFER_COMMIT_INTERVAL_MILLIS = 1000;
     public static final int DEFAULT_BUFFER_SIZE = 1000;
+    public static final int DEFAULT_MAX_CONCURRENT_WRITES = 0;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
@@ -50,6 +51,8 @@ public class DynamoDBConfig {
     private long writeCapacityUnits = DEFAULT_WRITE_CAPACITY_UNITS;
     private long bufferCommitIntervalMillis = DEFAULT_BUFFER_COMMIT_INTERVAL_MILLIS;
     private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int maxConcurrentWrites = DEFAULT_MAX_CONCURRENT_WRITES;
+    private @Nullable String endpoint;
 
     /**
      *
@@ -141,8 +144,22 @@ public class DynamoDBConfig {
                 bufferSize = Integer.parseInt(bufferSizeParam);
             }
 
+            final int maxConcurrentWrites;
+            String maxConcurrentWritesParam = (String) config.get("maxConcurrentWrites");
+            if (maxConcurrentWritesParam == null || maxConcurrentWritesParam.isBlank()) {
+                LOGGER.debug("Max concurrent writes: {}", DEFAULT_MAX_CONCURRENT_WRITES);
+                maxConcurrentWrites = DEFAULT_MAX_CONCURRENT_WRITES;
+            } else {
+                maxConcurrentWrites = Integer.parseInt(maxConcurrentWritesParam);
+            }
+
+            String endpoint = (String) config.get("endpoint");
+            if (endpoint != null && endpoint.isBlank()) {
+                endpoint = null;
+            }
+
             return new DynamoDBConfig(region, credentials, table, createTable, readCapacityUnits, writeCapacityUnits,
-                    bufferCommitIntervalMillis, bufferSize);
+                    bufferCommitIntervalMillis, bufferSize, maxConcurrentWrites, endpoint);
         } catch (Exception e) {
             LOGGER.error("Error with configuration", e);
             return null;
@@ -151,6 +168,13 @@ public class DynamoDBConfig {
 
     public DynamoDBConfig(Regions region, AWSCredentials credentials, String table, boolean createTable,
             long readCapacityUnits, long writeCapacityUnits, long bufferCommitIntervalMillis, int bufferSize) {
+        this(region, credentials, table, createTable, readCapacityUnits, writeCapacityUnits, bufferCommitIntervalMillis,
+                bufferSize, DEFAULT_MAX_CONCURRENT_WRITES, null);
+    }
+
+    public DynamoDBConfig(Regions region, AWSCredentials credentials, String table, boolean createTable,
+            long readCapacityUnits, long writeCapacityUnits, long bufferCommitIntervalMillis, int bufferSize,
+            int maxConcurrentWrites, @Nullable String endpoint) {
         this.region = region;
         this.credentials = credentials;
         this.tablePrefix = table;
@@ -159,6 +183,8 @@ public class DynamoDBConfig {
         this.writeCapacityUnits = writeCapacityUnits;
         this.bufferCommitIntervalMillis = bufferCommitIntervalMillis;
         this.bufferSize = bufferSize;
+        this.maxConcurrentWrites = maxConcurrentWrites;
+        this.endpoint = endpoint;
     }
 
     public AWSCredentials getCredentials() {
@@ -192,4 +218,19 @@ public class DynamoDBConfig {
     public int getBufferSize() {
         return bufferSize;
     }
+
+    /**
+     * @return maximum number of BatchWriteItem requests sent in parallel. Zero means that buffered data is written
+     *         synchronously, one table at a time.
+     */
+    public int getMaxConcurrentWrites() {
+        return maxConcurrentWrites;
+    }
+
+    /**
+     * @return endpoint to use instead of the AWS endpoint of the region, e.g. a local DynamoDB, or null
+     */
+    public @Nullable String getEndpoint() {
+        return endpoint;
+    }
 }
@@ -18,11 +18,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -54,16 +56,19 @@ import org.slf4j.LoggerFactory;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.document.BatchWriteItemOutcome;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.TableStatus;
@@ -173,6 +178,10 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(DYNAMODB_THREADPOOL_NAME));
     private @Nullable ScheduledFuture<?> writeBufferedDataFuture;
+    private final Map<String, DynamoDBMapper> mappers = new ConcurrentHashMap<>();
+    /** tables known to exist and to be active, so that they need not be described before every write */
+    private final Set<String> activeTables = ConcurrentHashMap.newKeySet();
+    private @Nullable DynamoDBBatchWriter batchWriter;
 
     @Activate
     public DynamoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -255,7 +264,10 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
     private boolean ensureClient() {
         if (db == null) {
             try {
-                db = new DynamoDBClient(dbConfig);
+                DynamoDBClient client = new DynamoDBClient(dbConfig);
+                AmazonDynamoDBAsync asyncClient = client.getDynamoAsyncClient();
+                batchWriter = asyncClient == null ? null : new DynamoDBBatchWriter(asyncClient);
+                db = client;
             } catch (Exception e) {
                 logger.error("Error constructing dynamodb client", e);
                 return false;
@@ -351,21 +363,46 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
         }
         db.shutdown();
         db = null;
+        batchWriter = null;
+        mappers.clear();
+        activeTables.clear();
         dbConfig = null;
         tableNameResolver = null;
         isProperlyConfigured = false;
     }
 
     private DynamoDBMapper getDBMapper(String tableName) {
-        try {
-            DynamoDBMapperConfig mapperConfig = new DynamoDBMapperConfig.Builder()
-                    .withTableNameOverride(new DynamoDBMapperConfig.TableNameOverride(tableName))
-                    .withPaginationLoadingStrategy(PaginationLoadingStrategy.LAZY_LOADING).build();
-            return new DynamoDBMapper(db.getDynamoClient(), mapperConfig);
-        } catch (AmazonClientException e) {
-            logger.error("Error getting db mapper: {}", e.getMessage());
-            throw e;
+        // Mappers are cached since they also cache the table models of the item classes
+        return mappers.computeIfAbsent(tableName, name -> {
+            try {
+                DynamoDBMapperConfig mapperConfig = new DynamoDBMapperConfig.Builder()
+                        .withTableNameOverride(new DynamoDBMapperConfig.TableNameOverride(name))
+                        .withPaginationLoadingStrategy(PaginationLoadingStrategy.LAZY_LOADING).build();
+                return new DynamoDBMapper(db.getDynamoClient(), mapperConfig);
+            } catch (AmazonClientException e) {
+                logger.error("Error getting db mapper: {}", e.getMessage());
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Ensure that the table exists and is active, creating it if necessary. The result is cached, so the table is
+     * only checked once unless writes to it fail.
+     *
+     * @param tableName name of the table
+     * @param dtoClass class of the items stored in the table
+     * @return whether the table is active
+     */
+    private boolean ensureTable(String tableName, Class<?> dtoClass) {
+        if (activeTables.contains(tableName)) {
+            return true;
         }
+        if (createTable(getDBMapper(tableName), dtoClass)) {
+            activeTables.add(tableName);
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -397,12 +434,18 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
 
         for (;;) {
             Map<String, Deque<DynamoDBItem<?>>> itemsByTable = readBuffer();
-            // Write batch of data, one table at a time
-            for (Entry<String, Deque<DynamoDBItem<?>>> entry : itemsByTable.entrySet()) {
-                String tableName = entry.getKey();
-                Deque<DynamoDBItem<?>> batch = entry.getValue();
-                if (!batch.isEmpty()) {
-                    flushBatch(getDBMapper(tableName), batch);
+            DynamoDBBatchWriter writer = batchWriter;
+            if (writer != null) {
+                // Write batch of data, all tables in parallel
+                flushParallel(writer, itemsByTable);
+            } else {
+                // Write batch of data, one table at a time
+                for (Entry<String, Deque<DynamoDBItem<?>>> entry : itemsByTable.entrySet()) {
+                    String tableName = entry.getKey();
+                    Deque<DynamoDBItem<?>> batch = entry.getValue();
+                    if (!batch.isEmpty()) {
+                        flushBatch(getDBMapper(tableName), batch);
+                    }
                 }
             }
             if (buffer != null && buffer.isEmpty()) {
@@ -431,6 +474,72 @@ public class DynamoDBPersistenceService extends AbstractBufferedPersistenceServi
         return batchesByTable;
     }
 
+    /**
+     * Flush data of all tables to DynamoDB with parallel BatchWriteItem requests
+     *
+     * @param writer writer using the asynchronous client
+     * @param itemsByTable data to write by table name
+     */
+    private void flushParallel(DynamoDBBatchWriter writer, Map<String, Deque<DynamoDBItem<?>>> itemsByTable) {
+        long currentTimeMillis = System.currentTimeMillis();
+        Map<String, List<WriteRequest>> requestsByTable = new HashMap<>(itemsByTable.size());
+        int count = 0;
+        for (Entry<String, Deque<DynamoDBItem<?>>> entry : itemsByTable.entrySet()) {
+            String tableName = entry.getKey();
+            Deque<DynamoDBItem<?>> batch = entry.getValue();
+            if (batch.isEmpty()) {
+                continue;
+            }
+            if (!ensureTable(tableName, batch.peek().getClass())) {
+                logger.warn("Table '{}' is not available. Not storing batch: {}", tableName, batch);
+                continue;
+            }
+            List<WriteRequest> requests = toWriteRequests(getDBMapper(tableName), batch);
+            requestsByTable.put(tableName, requests);
+            count += requests.size();
+        }
+        if (requestsByTable.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<WriteRequest>> unprocessed;
+        try {
+            unprocessed = writer.write(requestsByTable);
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted while writing data!");
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (unprocessed.isEmpty()) {
+            logger.debug("flushParallel ended with {} items in {} ms", count,
+                    System.currentTimeMillis() - currentTimeMillis);
+        } else {
+            // check the tables again on the next flush, they might have been deleted
+            activeTables.removeAll(unprocessed.keySet());
+            logger.warn("flushParallel ended with {} items in {} ms. Even after retries failed to write some items: {}",
+                    count, System.currentTimeMillis() - currentTimeMillis, unprocessed);
+        }
+    }
+
+    /**
+     * Convert the items of one table to put requests. Only the last item with the same key (name and time) is kept
+     * since a BatchWriteItem request must not contain duplicate keys.
+     *
+     * @param mapper mapper associated with the table
+     * @param batch items of the same class to convert
+     * @return put requests
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<WriteRequest> toWriteRequests(DynamoDBMapper mapper, Deque<DynamoDBItem<?>> batch) {
+        DynamoDBMapperTableModel tableModel = mapper.getTableModel(batch.peek().getClass());
+        Map<Object, WriteRequest> requests = new LinkedHashMap<>(batch.size());
+        for (DynamoDBItem<?> item : batch) {
+            requests.put(List.of(item.getName(), item.getTime()),
+                    new WriteRequest(new PutRequest(tableModel.convert(item))));
+        }
+        return new ArrayList<>(requests.values());
+    }
+
     /**
      * Flush batch of data to DynamoDB
      *
@@ -12,6 +12,9 @@
  */
 package org.openhab.persistence.dynamodb.internal;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * The DynamoDBTableNameResolver resolves DynamoDB table name for a given item.
  *
@@ -21,12 +24,18 @@ package org.openhab.persistence.dynamodb.internal;
 public class DynamoDBTableNameResolver {
 
     private final String tablePrefix;
+    private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
 
     public DynamoDBTableNameResolver(String tablePrefix) {
         this.tablePrefix = tablePrefix;
     }
 
     public String fromItem(DynamoDBItem<?> item) {
+        // The table only depends on the class of the item
+        return tableNames.computeIfAbsent(item.getClass(), clazz -> resolve(item));
+    }
+
+    private String resolve(DynamoDBItem<?> item) {
         final String[] tableName = new String[1];
 
         // Use the visitor pattern to deduce the table name
@@ -52,6 +61,10 @@ public class DynamoDBTableNameResolver {
      * @return
      */
     public String fromClass(Class<? extends DynamoDBItem<?>> clazz) {
+        String tableName = tableNames.get(clazz);
+        if (tableName != null) {
+            return tableName;
+        }
         DynamoDBItem<?> dummy;
         try {
             // Construct new instance of this class (assuming presense no-argument constructor)
@@ -196,6 +196,16 @@ public class BaseIntegrationTest {
             }
         }
 
+        // Optional settings, e.g. for running the tests against a local DynamoDB
+        value = System.getProperty("DYNAMODBTEST_ENDPOINT");
+        if (value != null) {
+            config.put("endpoint", value);
+        }
+        value = System.getProperty("DYNAMODBTEST_MAXCONCURRENTWRITES");
+        if (value != null) {
+            config.put("maxConcurrentWrites", value);
+        }
+
         service.activate(null, config);
         clearData();
     }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonServiceException.ErrorType;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriterTest {
+
+    private static List<WriteRequest> requests(int count) {
+        List<WriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new WriteRequest(new PutRequest(Map.of("itemname", new AttributeValue("item" + i)))));
+        }
+        return requests;
+    }
+
+    @Test
+    public void testSplitEmpty() {
+        assertTrue(DynamoDBBatchWriter.splitIntoBatches(new HashMap<>()).isEmpty());
+    }
+
+    @Test
+    public void testSplitSingleBatch() {
+        List<Map<String, List<WriteRequest>>> batches = DynamoDBBatchWriter
+                .splitIntoBatches(Map.of("bigdecimal", requests(10), "string", requests(15)));
+        assertEquals(1, batches.size());
+        assertEquals(10, batches.get(0).get("bigdecimal").size());
+        assertEquals(15, batches.get(0).get("string").size());
+    }
+
+    @Test
+    public void testSplitMultipleBatches() {
+        List<WriteRequest> bigDecimalRequests = requests(60);
+        List<WriteRequest> stringRequests = requests(7);
+        List<Map<String, List<WriteRequest>>> batches = DynamoDBBatchWriter
+                .splitIntoBatches(Map.of("bigdecimal", bigDecimalRequests, "string", stringRequests));
+        assertEquals(3, batches.size());
+
+        List<WriteRequest> bigDecimalWritten = new ArrayList<>();
+        List<WriteRequest> stringWritten = new ArrayList<>();
+        for (Map<String, List<WriteRequest>> batch : batches) {
+            int batchSize = batch.values().stream().mapToInt(List::size).sum();
+            assertTrue(batchSize <= DynamoDBBatchWriter.MAX_ITEMS_PER_BATCH);
+            bigDecimalWritten.addAll(batch.getOrDefault("bigdecimal", List.of()));
+            stringWritten.addAll(batch.getOrDefault("string", List.of()));
+        }
+        assertEquals(bigDecimalRequests, bigDecimalWritten);
+        assertEquals(stringRequests, stringWritten);
+    }
+
+    private static CompletableFuture<BatchWriteItemResult> failure(ErrorType errorType) {
+        AmazonServiceException exception = new AmazonServiceException("failed");
+        exception.setErrorType(errorType);
+        exception.setErrorCode("ValidationException");
+        CompletableFuture<BatchWriteItemResult> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+        return future;
+    }
+
+    @Test
+    public void testWriteReturnsItemsOfNonRetriableFailure() throws InterruptedException {
+        AmazonDynamoDBAsync client = mock(AmazonDynamoDBAsync.class);
+        when(client.batchWriteItemAsync(any(BatchWriteItemRequest.class))).thenReturn(failure(ErrorType.Client));
+
+        List<WriteRequest> stringRequests = requests(3);
+        Map<String, List<WriteRequest>> unprocessed = new DynamoDBBatchWriter(client)
+                .write(Map.of("string", stringRequests));
+
+        assertEquals(Map.of("string", stringRequests), unprocessed);
+        // not retried
+        verify(client, times(1)).batchWriteItemAsync(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testWriteRetriesRetriableFailure() throws InterruptedException {
+        AmazonDynamoDBAsync client = mock(AmazonDynamoDBAsync.class);
+        when(client.batchWriteItemAsync(any(BatchWriteItemRequest.class))).thenReturn(failure(ErrorType.Service))
+                .thenReturn(CompletableFuture.completedFuture(new BatchWriteItemResult()));
+
+        Map<String, List<WriteRequest>> unprocessed = new DynamoDBBatchWriter(client)
+                .write(Map.of("string", requests(3)));
+
+        assertTrue(unprocessed.isEmpty());
+        verify(client, times(2)).batchWriteItemAsync(any(BatchWriteItemRequest.class));
+    }
+}
@@ -78,6 +78,8 @@ public class DynamoDBConfigTest {
         assertEquals(1, fromConfig.getWriteCapacityUnits());
         assertEquals(1000L, fromConfig.getBufferCommitIntervalMillis());
         assertEquals(1000, fromConfig.getBufferSize());
+        assertEquals(0, fromConfig.getMaxConcurrentWrites());
+        assertNull(fromConfig.getEndpoint());
     }
 
     @Test
@@ -218,4 +220,13 @@ public class DynamoDBConfigTest {
         assertEquals(501L, fromConfig.getBufferCommitIntervalMillis());
         assertEquals(112, fromConfig.getBufferSize());
     }
+
+    @Test
+    public void testRegionWithAccessKeysWithParallelWritesAndEndpoint() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1",
+                "secretKey", "secret1", "maxConcurrentWrites", "4", "endpoint", "http://localhost:8000"));
+        assertEquals(Regions.EU_WEST_1, fromConfig.getRegion());
+        assertEquals(4, fromConfig.getMaxConcurrentWrites());
+        assertEquals("http://localhost:8000", fromConfig.getEndpoint());
+    }
 }
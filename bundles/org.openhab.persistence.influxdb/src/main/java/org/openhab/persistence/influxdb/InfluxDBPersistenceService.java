@@ -12,21 +12,25 @@
  */
 package org.openhab.persistence.influxdb;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
@@ -222,17 +226,62 @@ public class InfluxDBPersistenceService implements QueryablePersistenceService {
                     filter.getItemName(), filter.getOrdering().toString(), filter.getState(), filter.getOperator(),
                     filter.getBeginDate(), filter.getEndDate(), filter.getPageSize(), filter.getPageNumber());
 
-            String query = RepositoryFactory.createQueryCreator(configuration).createQuery(filter,
-                    configuration.getRetentionPolicy());
+            FilterCriteriaQueryCreator queryCreator = RepositoryFactory.createQueryCreator(configuration);
+            @Nullable
+            Duration interval = getAggregationInterval(filter, queryCreator);
+            String query = interval == null
+                    ? queryCreator.createQuery(filter, configuration.getRetentionPolicy())
+                    : queryCreator.createAggregateQuery(filter, configuration.getRetentionPolicy(), interval);
             logger.trace("Query {}", query);
             List<InfluxRow> results = influxDBRepository.query(query);
-            return results.stream().map(this::mapRow2HistoricItem).collect(Collectors.toList());
+            // aggregated InfluxDB 1.X queries return rows without value for intervals without points
+            return results.stream().filter(row -> Objects.nonNull(row.getValue())).map(this::mapRow2HistoricItem)
+                    .collect(Collectors.toList());
         } else {
             logger.debug("query ignored, InfluxDB is not yet connected");
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Returns the time interval to aggregate the query result to, if the queried time range of a numeric item holds
+     * more than the configured maximum number of points. Queries with pagination or a value condition are never
+     * aggregated.
+     *
+     * @return the aggregation interval or <code>null</code> if the raw points are returned
+     */
+    private @Nullable Duration getAggregationInterval(FilterCriteria filter, FilterCriteriaQueryCreator queryCreator) {
+        int maxQueryPoints = configuration.getMaxQueryPoints();
+        ZonedDateTime beginDate = filter.getBeginDate();
+        String itemName = filter.getItemName();
+        if (maxQueryPoints <= 0 || beginDate == null || itemName == null || filter.getPageSize() != Integer.MAX_VALUE
+                || (filter.getState() != null && filter.getOperator() != null) || !isNumericItem(itemName)) {
+            return null;
+        }
+
+        long count = influxDBRepository.query(queryCreator.createCountQuery(filter, configuration.getRetentionPolicy()))
+                .stream().map(InfluxRow::getValue).filter(Number.class::isInstance)
+                .mapToLong(value -> ((Number) value).longValue()).sum();
+        if (count <= maxQueryPoints) {
+            return null;
+        }
+
+        ZonedDateTime endDate = filter.getEndDate();
+        Duration range = Duration.between(beginDate, endDate != null ? endDate : ZonedDateTime.now());
+        long seconds = Math.max(1, (range.getSeconds() + maxQueryPoints - 1) / maxQueryPoints);
+        logger.debug("Aggregating {} points of item {} to intervals of {} seconds", count, itemName, seconds);
+        return Duration.ofSeconds(seconds);
+    }
+
+    private boolean isNumericItem(String itemName) {
+        @Nullable
+        Item item = itemRegistry.get(itemName);
+        if (item instanceof GroupItem) {
+            item = ((GroupItem) item).getBaseItem();
+        }
+        return item instanceof NumberItem;
+    }
+
     private HistoricItem mapRow2HistoricItem(InfluxRow row) {
         State state = InfluxDBStateConvertUtils.objectToState(row.getValue(), row.getItemName(), itemRegistry);
         return new InfluxDBHistoricItem(row.getItemName(), state,
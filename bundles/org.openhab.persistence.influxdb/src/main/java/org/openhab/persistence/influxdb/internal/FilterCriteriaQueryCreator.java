@@ -12,6 +12,8 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.persistence.FilterCriteria;
 
@@ -31,6 +33,26 @@ public interface FilterCriteriaQueryCreator {
      */
     String createQuery(FilterCriteria criteria, String retentionPolicy);
 
+    /**
+     * Create query counting the points matching the {@link FilterCriteria}, ordering and pagination are ignored
+     *
+     * @param criteria Criteria to create query from
+     * @param retentionPolicy Name of the retentionPolicy/bucket to use in query
+     * @return Created query as an String
+     */
+    String createCountQuery(FilterCriteria criteria, String retentionPolicy);
+
+    /**
+     * Create query from {@link FilterCriteria} returning the mean value of each time interval instead of the raw
+     * points. Intervals without points are omitted.
+     *
+     * @param criteria Criteria to create query from
+     * @param retentionPolicy Name of the retentionPolicy/bucket to use in query
+     * @param interval Length of the time intervals to aggregate, at least one second
+     * @return Created query as an String
+     */
+    String createAggregateQuery(FilterCriteria criteria, String retentionPolicy, Duration interval);
+
     default String getOperationSymbol(FilterCriteria.Operator operator, InfluxDBVersion version) {
         switch (operator) {
             case EQ:
@@ -39,6 +39,11 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String MAX_QUERY_POINTS_PARAM = "maxQueryPoints";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String FLUSH_INTERVAL_PARAM = "flushInterval";
+    public static final String JITTER_INTERVAL_PARAM = "jitterInterval";
+    public static final String RETRY_BUFFER_LIMIT_PARAM = "retryBufferLimit";
     public static InfluxDBConfiguration NO_CONFIGURATION = new InfluxDBConfiguration(Collections.emptyMap());
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
@@ -54,6 +59,13 @@ public class InfluxDBConfiguration {
     private final boolean addTypeTag;
     private final boolean addLabelTag;
 
+    private final int maxQueryPoints;
+
+    private final int batchSize;
+    private final int flushInterval;
+    private final int jitterInterval;
+    private final int retryBufferLimit;
+
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = (String) config.getOrDefault(URL_PARAM, "http://127.0.0.1:8086");
         user = (String) config.getOrDefault(USER_PARAM, "openhab");
@@ -67,6 +79,13 @@ public class InfluxDBConfiguration {
         addCategoryTag = getConfigBooleanValue(config, ADD_CATEGORY_TAG_PARAM, false);
         addLabelTag = getConfigBooleanValue(config, ADD_LABEL_TAG_PARAM, false);
         addTypeTag = getConfigBooleanValue(config, ADD_TYPE_TAG_PARAM, false);
+
+        maxQueryPoints = getConfigIntValue(config, MAX_QUERY_POINTS_PARAM, 0);
+
+        batchSize = Math.max(1, getConfigIntValue(config, BATCH_SIZE_PARAM, 1000));
+        flushInterval = Math.max(1, getConfigIntValue(config, FLUSH_INTERVAL_PARAM, 1000));
+        jitterInterval = Math.max(0, getConfigIntValue(config, JITTER_INTERVAL_PARAM, 0));
+        retryBufferLimit = Math.max(batchSize, getConfigIntValue(config, RETRY_BUFFER_LIMIT_PARAM, 10000));
     }
 
     private static boolean getConfigBooleanValue(Map<String, Object> config, String key, boolean defaultValue) {
@@ -80,6 +99,20 @@ public class InfluxDBConfiguration {
         }
     }
 
+    private int getConfigIntValue(Map<String, Object> config, String key, int defaultValue) {
+        Object object = config.get(key);
+        if (object instanceof Number) {
+            return ((Number) object).intValue();
+        } else if (object instanceof String) {
+            try {
+                return Integer.parseInt(((String) object).trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}', using {}", key, object, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     private InfluxDBVersion parseInfluxVersion(@Nullable Object value) {
         try {
             return InfluxDBVersion.valueOf((String) value);
@@ -156,6 +189,42 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    /**
+     * @return the maximum number of points a query returns per item before it is aggregated to time intervals, 0 if
+     *         queries are never aggregated
+     */
+    public int getMaxQueryPoints() {
+        return maxQueryPoints;
+    }
+
+    /**
+     * @return the number of points written with one request
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum time in milliseconds before pending points are written
+     */
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @return the maximum random delay in milliseconds added to the flush interval
+     */
+    public int getJitterInterval() {
+        return jitterInterval;
+    }
+
+    /**
+     * @return the maximum number of points kept for retrying failed writes
+     */
+    public int getRetryBufferLimit() {
+        return retryBufferLimit;
+    }
+
     public String getUser() {
         return user;
     }
@@ -174,7 +243,9 @@ public class InfluxDBConfiguration {
                 + password.length() + " chars" + '\'' + ", token='" + token.length() + " chars" + '\''
                 + ", databaseName='" + databaseName + '\'' + ", retentionPolicy='" + retentionPolicy + '\''
                 + ", version=" + version + ", replaceUnderscore=" + replaceUnderscore + ", addCategoryTag="
-                + addCategoryTag + ", addTypeTag=" + addTypeTag + ", addLabelTag=" + addLabelTag + '}';
+                + addCategoryTag + ", addTypeTag=" + addTypeTag + ", addLabelTag=" + addLabelTag + ", maxQueryPoints="
+                + maxQueryPoints + ", batchSize=" + batchSize + ", flushInterval=" + flushInterval
+                + ", jitterInterval=" + jitterInterval + ", retryBufferLimit=" + retryBufferLimit + '}';
         return sb;
     }
 
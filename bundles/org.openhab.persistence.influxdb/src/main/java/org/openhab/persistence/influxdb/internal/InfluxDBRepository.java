@@ -71,4 +71,11 @@ public interface InfluxDBRepository {
      * @param influxPoint Point to write
      */
     void write(InfluxPoint influxPoint);
+
+    /**
+     * Return the counters of written, retried and dropped points
+     *
+     * @return Write statistics since the repository was created
+     */
+    InfluxDBWriteStatistics getWriteStatistics();
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters for the points written by an {@link InfluxDBRepository}
+ *
+ * The InfluxDB 1.X client only reports failed batches, so <code>written</code> and <code>retried</code> are only
+ * counted for InfluxDB 2.X. The InfluxDB 2.X client reports every point dropped from its full write buffer, but not
+ * the points of a failed batch. For a failed batch, the points not written yet are counted as dropped, up to the batch
+ * size.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteStatistics {
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    public void pointQueued() {
+        queued.incrementAndGet();
+    }
+
+    public void pointsWritten(long count) {
+        written.addAndGet(count);
+    }
+
+    public void batchRetried() {
+        retried.incrementAndGet();
+    }
+
+    public void pointsDropped(long count) {
+        dropped.addAndGet(count);
+    }
+
+    public void batchFailed() {
+        failedBatches.incrementAndGet();
+    }
+
+    /**
+     * @return number of points handed to the client for writing
+     */
+    public long getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * @return number of points successfully written
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * @return number of batches that failed with a retriable error and are written again
+     */
+    public long getRetried() {
+        return retried.get();
+    }
+
+    /**
+     * @return number of points that could not be written
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of queued points that are neither written nor dropped yet
+     */
+    public long getPending() {
+        return Math.max(0, queued.get() - written.get() - dropped.get());
+    }
+
+    /**
+     * @return number of batches that could not be written
+     */
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    @Override
+    public String toString() {
+        return "InfluxDBWriteStatistics{queued=" + queued + ", written=" + written + ", retried=" + retried
+                + ", dropped=" + dropped + ", failedBatches=" + failedBatches + '}';
+    }
+}
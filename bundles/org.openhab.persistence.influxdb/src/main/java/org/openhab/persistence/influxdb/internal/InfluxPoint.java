@@ -36,7 +36,7 @@ public class InfluxPoint {
         measurementName = builder.measurementName;
         time = builder.time;
         value = builder.value;
-        tags = builder.tags;
+        tags = builder.tagsShared ? builder.tags : Collections.unmodifiableMap(builder.tags);
     }
 
     public static Builder newBuilder(String measurementName) {
@@ -56,14 +56,15 @@ public class InfluxPoint {
     }
 
     public Map<String, String> getTags() {
-        return Collections.unmodifiableMap(tags);
+        return tags;
     }
 
     public static final class Builder {
         private String measurementName;
         private Instant time;
         private Object value;
-        private Map<String, String> tags = new HashMap<>();
+        private Map<String, String> tags = Collections.emptyMap();
+        private boolean tagsShared = true;
 
         private Builder(String measurementName) {
             this.measurementName = measurementName;
@@ -80,10 +81,24 @@ public class InfluxPoint {
         }
 
         public Builder withTag(String name, String value) {
+            if (tagsShared) {
+                tags = new HashMap<>(tags);
+                tagsShared = false;
+            }
             tags.put(name, value);
             return this;
         }
 
+        /**
+         * Uses the given tags without copying them. The map must not be modified afterwards, it can be shared by
+         * several points.
+         */
+        public Builder withTags(Map<String, String> val) {
+            tags = val;
+            tagsShared = true;
+            return this;
+        }
+
         public InfluxPoint build() {
             return new InfluxPoint(this);
         }
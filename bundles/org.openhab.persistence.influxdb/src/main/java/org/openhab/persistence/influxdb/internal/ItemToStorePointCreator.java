@@ -15,7 +15,12 @@ package org.openhab.persistence.influxdb.internal;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -36,6 +41,7 @@ import org.openhab.persistence.influxdb.InfluxDBPersistenceService;
 public class ItemToStorePointCreator {
     private final InfluxDBConfiguration configuration;
     private final @Nullable MetadataRegistry metadataRegistry;
+    private final Map<String, PointTags> pointTagsCache = new ConcurrentHashMap<>();
 
     public ItemToStorePointCreator(InfluxDBConfiguration configuration, @Nullable MetadataRegistry metadataRegistry) {
         this.configuration = configuration;
@@ -47,18 +53,34 @@ public class ItemToStorePointCreator {
             return null;
         }
 
-        String measurementName = calculateMeasurementName(item, storeAlias);
-        String itemName = item.getName();
+        PointTags pointTags = getPointTags(item, storeAlias);
         State state = getItemState(item);
 
         Object value = InfluxDBStateConvertUtils.stateToObject(state);
 
-        InfluxPoint.Builder point = InfluxPoint.newBuilder(measurementName).withTime(Instant.now()).withValue(value)
-                .withTag(TAG_ITEM_NAME, itemName);
+        return InfluxPoint.newBuilder(pointTags.measurementName).withTime(Instant.now()).withValue(value)
+                .withTags(pointTags.tags).build();
+    }
 
-        addPointTags(item, point);
+    /**
+     * Returns the measurement name and tags of the item. They are only calculated again if the item or its metadata
+     * changed, otherwise all points of the item share the same tag map.
+     */
+    private PointTags getPointTags(Item item, @Nullable String storeAlias) {
+        String alias = storeAlias != null && !storeAlias.isBlank() ? storeAlias : null;
+        String key = alias == null ? item.getName() : item.getName() + ":" + alias;
 
-        return point.build();
+        final MetadataRegistry currentMetadataRegistry = metadataRegistry;
+        @Nullable
+        Metadata metadata = currentMetadataRegistry == null ? null
+                : currentMetadataRegistry.get(new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, item.getName()));
+
+        PointTags pointTags = pointTagsCache.get(key);
+        if (pointTags == null || !pointTags.isValidFor(item, metadata)) {
+            pointTags = new PointTags(item, alias, metadata);
+            pointTagsCache.put(key, pointTags);
+        }
+        return pointTags;
     }
 
     private String calculateMeasurementName(Item item, @Nullable String storeAlias) {
@@ -92,17 +114,20 @@ public class ItemToStorePointCreator {
                 .findFirst().map(commandType -> commandType.asSubclass(State.class));
     }
 
-    private void addPointTags(Item item, InfluxPoint.Builder point) {
+    private Map<String, String> createPointTags(Item item, @Nullable Metadata metadata) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(TAG_ITEM_NAME, item.getName());
+
         if (configuration.isAddCategoryTag()) {
             String categoryName = item.getCategory();
             if (categoryName == null) {
                 categoryName = "n/a";
             }
-            point.withTag(TAG_CATEGORY_NAME, categoryName);
+            tags.put(TAG_CATEGORY_NAME, categoryName);
         }
 
         if (configuration.isAddTypeTag()) {
-            point.withTag(TAG_TYPE_NAME, item.getType());
+            tags.put(TAG_TYPE_NAME, item.getType());
         }
 
         if (configuration.isAddLabelTag()) {
@@ -110,18 +135,52 @@ public class ItemToStorePointCreator {
             if (labelName == null) {
                 labelName = "n/a";
             }
-            point.withTag(TAG_LABEL_NAME, labelName);
+            tags.put(TAG_LABEL_NAME, labelName);
         }
 
-        final MetadataRegistry currentMetadataRegistry = metadataRegistry;
-        if (currentMetadataRegistry != null) {
-            MetadataKey key = new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, item.getName());
-            Metadata metadata = currentMetadataRegistry.get(key);
-            if (metadata != null) {
-                metadata.getConfiguration().forEach((tagName, tagValue) -> {
-                    point.withTag(tagName, tagValue.toString());
-                });
-            }
+        if (metadata != null) {
+            metadata.getConfiguration().forEach((tagName, tagValue) -> {
+                tags.put(tagName, tagValue.toString());
+            });
+        }
+        return Collections.unmodifiableMap(tags);
+    }
+
+    /**
+     * Measurement name and tags of an item, together with the values they were calculated from
+     */
+    private class PointTags {
+        private final String measurementName;
+        private final Map<String, String> tags;
+
+        private final boolean replaceUnderscore;
+        private final boolean addCategoryTag;
+        private final boolean addTypeTag;
+        private final boolean addLabelTag;
+        private final @Nullable String category;
+        private final @Nullable String label;
+        private final String type;
+        private final @Nullable Metadata metadata;
+
+        private PointTags(Item item, @Nullable String storeAlias, @Nullable Metadata metadata) {
+            this.measurementName = calculateMeasurementName(item, storeAlias);
+            this.tags = createPointTags(item, metadata);
+            this.replaceUnderscore = configuration.isReplaceUnderscore();
+            this.addCategoryTag = configuration.isAddCategoryTag();
+            this.addTypeTag = configuration.isAddTypeTag();
+            this.addLabelTag = configuration.isAddLabelTag();
+            this.category = item.getCategory();
+            this.label = item.getLabel();
+            this.type = item.getType();
+            this.metadata = metadata;
+        }
+
+        private boolean isValidFor(Item item, @Nullable Metadata metadata) {
+            return this.metadata == metadata && replaceUnderscore == configuration.isReplaceUnderscore()
+                    && addCategoryTag == configuration.isAddCategoryTag()
+                    && addTypeTag == configuration.isAddTypeTag() && addLabelTag == configuration.isAddLabelTag()
+                    && Objects.equals(category, item.getCategory()) && Objects.equals(label, item.getLabel())
+                    && type.equals(item.getType());
         }
     }
 }
@@ -16,13 +16,18 @@ import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.dto.Query;
 import org.influxdb.querybuilder.Appender;
 import org.influxdb.querybuilder.BuiltQuery;
 import org.influxdb.querybuilder.Select;
+import org.influxdb.querybuilder.SelectionQueryImpl;
 import org.influxdb.querybuilder.Where;
 import org.influxdb.querybuilder.clauses.SimpleClause;
+import org.influxdb.querybuilder.time.DurationLiteral;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
@@ -37,6 +42,23 @@ public class Influx1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
 
     @Override
     public String createQuery(FilterCriteria criteria, String retentionPolicy) {
+        return createQuery(criteria, retentionPolicy, select(COLUMN_VALUE_NAME_V1), null, true);
+    }
+
+    @Override
+    public String createCountQuery(FilterCriteria criteria, String retentionPolicy) {
+        return createQuery(criteria, retentionPolicy, select().count(COLUMN_VALUE_NAME_V1).as(COLUMN_VALUE_NAME_V1),
+                null, false);
+    }
+
+    @Override
+    public String createAggregateQuery(FilterCriteria criteria, String retentionPolicy, Duration interval) {
+        return createQuery(criteria, retentionPolicy, select().mean(COLUMN_VALUE_NAME_V1).as(COLUMN_VALUE_NAME_V1),
+                interval, true);
+    }
+
+    private String createQuery(FilterCriteria criteria, String retentionPolicy, SelectionQueryImpl selection,
+            @Nullable Duration interval, boolean orderAndPage) {
         final String tableName;
         boolean hasCriteriaName = criteria.getItemName() != null;
         if (hasCriteriaName) {
@@ -45,8 +67,7 @@ public class Influx1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
             tableName = "/.*/";
         }
 
-        Select select = select(COLUMN_VALUE_NAME_V1).fromRaw(null,
-                fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
+        Select select = selection.fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
 
         Where where = select.where();
         if (criteria.getBeginDate() != null) {
@@ -64,17 +85,23 @@ public class Influx1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
                     stateToObject(criteria.getState())));
         }
 
-        if (criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
-            select = select.orderBy(desc());
-        } else if (criteria.getOrdering() == FilterCriteria.Ordering.ASCENDING) {
-            select = select.orderBy(asc());
+        if (interval != null) {
+            select = select.groupBy(time(Math.max(1, interval.getSeconds()), DurationLiteral.SECOND));
         }
 
-        if (criteria.getPageSize() != Integer.MAX_VALUE) {
-            if (criteria.getPageNumber() != 0) {
-                select = select.limit(criteria.getPageSize(), criteria.getPageSize() * criteria.getPageNumber());
-            } else {
-                select = select.limit(criteria.getPageSize());
+        if (orderAndPage) {
+            if (criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
+                select = select.orderBy(desc());
+            } else if (criteria.getOrdering() == FilterCriteria.Ordering.ASCENDING) {
+                select = select.orderBy(asc());
+            }
+
+            if (criteria.getPageSize() != Integer.MAX_VALUE) {
+                if (criteria.getPageNumber() != 0) {
+                    select = select.limit(criteria.getPageSize(), criteria.getPageSize() * criteria.getPageNumber());
+                } else {
+                    select = select.limit(criteria.getPageSize());
+                }
             }
         }
 
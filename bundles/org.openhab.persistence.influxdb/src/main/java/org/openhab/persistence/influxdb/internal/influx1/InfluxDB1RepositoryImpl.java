@@ -22,9 +22,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.influxdb.BatchOptions;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBFactory;
 import org.influxdb.dto.Point;
@@ -33,6 +35,7 @@ import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteStatistics;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
@@ -51,6 +54,7 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     private InfluxDBConfiguration configuration;
     @Nullable
     private InfluxDB client;
+    private final InfluxDBWriteStatistics statistics = new InfluxDBWriteStatistics();
 
     public InfluxDB1RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
@@ -67,14 +71,27 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                 configuration.getPassword());
         createdClient.setDatabase(configuration.getDatabaseName());
         createdClient.setRetentionPolicy(configuration.getRetentionPolicy());
-        createdClient.enableBatch(200, 100, TimeUnit.MILLISECONDS);
+        createdClient.enableBatch(BatchOptions.DEFAULTS.actions(configuration.getBatchSize())
+                .flushDuration(configuration.getFlushInterval()).jitterDuration(configuration.getJitterInterval())
+                .bufferLimit(configuration.getRetryBufferLimit()).exceptionHandler((points, e) -> {
+                    long count = StreamSupport.stream(points.spliterator(), false).count();
+                    statistics.pointsDropped(count);
+                    statistics.batchFailed();
+                    logger.warn("Writing {} points failed: {}", count, e.getMessage());
+                }));
         this.client = createdClient;
         return checkConnectionStatus();
     }
 
     @Override
     public void disconnect() {
+        final InfluxDB currentClient = this.client;
+        if (currentClient != null) {
+            // writes the pending points
+            currentClient.close();
+        }
         this.client = null;
+        logger.debug("Disconnected, {}", statistics);
     }
 
     @Override
@@ -115,6 +132,7 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         if (currentClient != null) {
             Point clientPoint = convertPointToClientFormat(point);
             currentClient.write(configuration.getDatabaseName(), configuration.getRetentionPolicy(), clientPoint);
+            statistics.pointQueued();
         } else {
             logger.warn("Write point {} ignored due to client isn't connected", point);
         }
@@ -204,6 +222,11 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         return rows;
     }
 
+    @Override
+    public InfluxDBWriteStatistics getWriteStatistics() {
+        return statistics;
+    }
+
     @Override
     public Map<String, Integer> getStoredItemsCount() {
         return Collections.emptyMap();
@@ -16,6 +16,7 @@ import static com.influxdb.query.dsl.functions.restriction.Restrictions.measurem
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -36,6 +37,23 @@ import com.influxdb.query.dsl.functions.restriction.Restrictions;
 public class Influx2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQueryCreator {
     @Override
     public String createQuery(FilterCriteria criteria, String retentionPolicy) {
+        Flux flux = createFilteredQuery(criteria, retentionPolicy);
+        return orderAndPage(flux, criteria).toString();
+    }
+
+    @Override
+    public String createCountQuery(FilterCriteria criteria, String retentionPolicy) {
+        return createFilteredQuery(criteria, retentionPolicy).count().toString();
+    }
+
+    @Override
+    public String createAggregateQuery(FilterCriteria criteria, String retentionPolicy, Duration interval) {
+        Flux flux = createFilteredQuery(criteria, retentionPolicy).expression("aggregateWindow(every: "
+                + Math.max(1, interval.getSeconds()) + "s, fn: mean, createEmpty: false)");
+        return orderAndPage(flux, criteria).toString();
+    }
+
+    private Flux createFilteredQuery(FilterCriteria criteria, String retentionPolicy) {
         Flux flux = Flux.from(retentionPolicy);
 
         RangeFlux range = flux.range();
@@ -59,7 +77,10 @@ public class Influx2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
                             getOperationSymbol(criteria.getOperator(), InfluxDBVersion.V2)));
             flux = flux.filter(restrictions);
         }
+        return flux;
+    }
 
+    private Flux orderAndPage(Flux flux, FilterCriteria criteria) {
         if (criteria.getOrdering() != null) {
             boolean desc = criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING;
             flux = flux.sort().withDesc(desc).withColumns(new String[] { COLUMN_TIME_NAME_V2 });
@@ -69,7 +90,6 @@ public class Influx2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQuer
             flux = flux.limit(criteria.getPageSize()).withPropertyValue("offset",
                     criteria.getPageNumber() * criteria.getPageSize());
         }
-
-        return flux.toString();
+        return flux;
     }
 }
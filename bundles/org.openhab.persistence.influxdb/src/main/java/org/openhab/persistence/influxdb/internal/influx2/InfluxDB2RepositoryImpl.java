@@ -27,6 +27,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteStatistics;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.InfluxRow;
 import org.openhab.persistence.influxdb.internal.UnnexpectedConditionException;
@@ -38,9 +39,14 @@ import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.QueryApi;
 import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.events.BackpressureEvent;
+import com.influxdb.client.write.events.WriteErrorEvent;
+import com.influxdb.client.write.events.WriteRetriableErrorEvent;
+import com.influxdb.client.write.events.WriteSuccessEvent;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -58,6 +64,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     private QueryApi queryAPI;
     @Nullable
     private WriteApi writeAPI;
+    private final InfluxDBWriteStatistics statistics = new InfluxDBWriteStatistics();
 
     public InfluxDB2RepositoryImpl(InfluxDBConfiguration configuration) {
         this.configuration = configuration;
@@ -94,10 +101,47 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         this.client = createdClient;
         logger.debug("Succesfully connected to InfluxDB. Instance ready={}", createdClient.ready());
         queryAPI = createdClient.getQueryApi();
-        writeAPI = createdClient.getWriteApi();
+        writeAPI = createWriteAPI(createdClient);
         return checkConnectionStatus();
     }
 
+    WriteApi createWriteAPI(InfluxDBClient createdClient) {
+        WriteOptions writeOptions = WriteOptions.builder().batchSize(configuration.getBatchSize())
+                .flushInterval(configuration.getFlushInterval()).jitterInterval(configuration.getJitterInterval())
+                .bufferLimit(configuration.getRetryBufferLimit()).build();
+        WriteApi createdWriteAPI = createdClient.getWriteApi(writeOptions);
+        createdWriteAPI.listenEvents(WriteSuccessEvent.class,
+                event -> statistics.pointsWritten(countPoints(event.getLineProtocol())));
+        createdWriteAPI.listenEvents(WriteRetriableErrorEvent.class, event -> {
+            statistics.batchRetried();
+            logger.debug("Writing points failed, retrying: {}", event.getThrowable().getMessage());
+        });
+        createdWriteAPI.listenEvents(WriteErrorEvent.class, event -> {
+            statistics.batchFailed();
+            // The client does not report the points of the failed batch, but it contained at most one batch of the
+            // points that are not written yet
+            long dropped = Math.min(configuration.getBatchSize(), statistics.getPending());
+            statistics.pointsDropped(dropped);
+            logger.warn("Writing points failed, dropped up to {} points: {}", dropped,
+                    event.getThrowable().getMessage());
+        });
+        createdWriteAPI.listenEvents(BackpressureEvent.class, event -> {
+            // every event is raised for one point dropped from the full write buffer
+            statistics.pointsDropped(1);
+            logger.warn("Write buffer is full, oldest points are dropped");
+        });
+        return createdWriteAPI;
+    }
+
+    private static long countPoints(@Nullable String lineProtocol) {
+        return lineProtocol == null || lineProtocol.isEmpty() ? 0 : lineProtocol.split("\n").length;
+    }
+
+    @Override
+    public InfluxDBWriteStatistics getWriteStatistics() {
+        return statistics;
+    }
+
     /**
      * Disconnect from InfluxDB server
      */
@@ -105,9 +149,11 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     public void disconnect() {
         final InfluxDBClient currentClient = this.client;
         if (currentClient != null) {
+            // also writes the pending points
             currentClient.close();
         }
         this.client = null;
+        logger.debug("Disconnected, {}", statistics);
     }
 
     /**
@@ -142,6 +188,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     public void write(InfluxPoint point) {
         final WriteApi currentWriteAPI = writeAPI;
         if (currentWriteAPI != null) {
+            statistics.pointQueued();
             currentWriteAPI.writePoint(convertPointToClientFormat(point));
         } else {
             logger.warn("Write point {} ignored due to writeAPI isn't present", point);
@@ -12,9 +12,12 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -159,6 +162,42 @@ public class InfluxFilterCriteriaQueryCreatorImplTest {
                         + "|> sort(desc:false, columns:[\"_time\"])"));
     }
 
+    @Test
+    public void testCountQuery() {
+        FilterCriteria criteria = createBaseCriteria();
+        criteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        criteria.setPageSize(10);
+
+        String queryV1 = instanceV1.createCountQuery(criteria, RETENTION_POLICY);
+        assertThat(queryV1, containsString("FROM origin.sampleItem"));
+        assertThat(queryV1, containsString("AS value"));
+        assertThat(queryV1, not(containsString("ORDER BY")));
+        assertThat(queryV1, not(containsString("LIMIT")));
+
+        String queryV2 = instanceV2.createCountQuery(criteria, RETENTION_POLICY);
+        assertThat(queryV2, equalTo("from(bucket:\"origin\")\n\t" + "|> range(start:-100y)\n\t"
+                + "|> filter(fn: (r) => r[\"_measurement\"] == \"sampleItem\")\n\t" + "|> count()"));
+    }
+
+    @Test
+    public void testAggregateQuery() {
+        FilterCriteria criteria = createBaseCriteria();
+        criteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        Duration interval = Duration.ofMinutes(5);
+
+        String queryV1 = instanceV1.createAggregateQuery(criteria, RETENTION_POLICY, interval);
+        assertThat(queryV1, containsString("AS value FROM origin.sampleItem"));
+        assertThat(queryV1, containsString("GROUP BY time(300s)"));
+        assertThat(queryV1, containsString("ORDER BY time ASC"));
+
+        String queryV2 = instanceV2.createAggregateQuery(criteria, RETENTION_POLICY, interval);
+        assertThat(queryV2,
+                equalTo("from(bucket:\"origin\")\n\t" + "|> range(start:-100y)\n\t"
+                        + "|> filter(fn: (r) => r[\"_measurement\"] == \"sampleItem\")\n\t"
+                        + "|> aggregateWindow(every: 300s, fn: mean, createEmpty: false)\n\t"
+                        + "|> sort(desc:false, columns:[\"_time\"])"));
+    }
+
     private FilterCriteria createBaseCriteria() {
         return createBaseCriteria(ITEM_NAME);
     }
@@ -87,6 +87,20 @@ public class ItemToStorePointCreatorTest {
         assertThat(point.getMeasurementName(), is("aliasName"));
     }
 
+    @Test
+    public void shouldReuseTagsOfUnchangedItem() {
+        NumberItem item = ItemTestHelper.createNumberItem("myitem", 5);
+        InfluxPoint point1 = instance.convert(item, null);
+        InfluxPoint point2 = instance.convert(item, null);
+        assertThat(point2.getTags(), sameInstance(point1.getTags()));
+
+        item.setLabel("ItemLabel");
+        when(influxDBConfiguration.isAddLabelTag()).thenReturn(true);
+        InfluxPoint point3 = instance.convert(item, null);
+        assertThat(point3.getTags(), not(sameInstance(point1.getTags())));
+        assertThat(point3.getTags(), hasEntry(InfluxDBConstants.TAG_LABEL_NAME, "ItemLabel"));
+    }
+
     @Test
     public void shouldStoreCategoryTagIfProvidedAndConfigured() {
         NumberItem item = ItemTestHelper.createNumberItem("myitem", 5);
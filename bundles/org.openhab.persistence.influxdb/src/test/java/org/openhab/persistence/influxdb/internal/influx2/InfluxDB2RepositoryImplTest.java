@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.persistence.influxdb.internal.ConfigurationTestHelper;
+import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteStatistics;
+
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
+import com.influxdb.client.write.events.AbstractWriteEvent;
+import com.influxdb.client.write.events.BackpressureEvent;
+import com.influxdb.client.write.events.EventListener;
+import com.influxdb.client.write.events.WriteErrorEvent;
+import com.influxdb.client.write.events.WriteSuccessEvent;
+
+/**
+ * Tests the write statistics of {@link InfluxDB2RepositoryImpl}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+public class InfluxDB2RepositoryImplTest {
+
+    private @Mock InfluxDBClient client;
+    private @Mock WriteApi writeApi;
+
+    private InfluxDB2RepositoryImpl repository;
+    private InfluxDBWriteStatistics statistics;
+
+    @BeforeEach
+    public void before() {
+        Map<String, Object> config = ConfigurationTestHelper.createValidConfigurationParameters();
+        config.put(InfluxDBConfiguration.BATCH_SIZE_PARAM, 3);
+        repository = new InfluxDB2RepositoryImpl(new InfluxDBConfiguration(config));
+        statistics = repository.getWriteStatistics();
+        when(client.getWriteApi(any(WriteOptions.class))).thenReturn(writeApi);
+        repository.createWriteAPI(client);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends AbstractWriteEvent> void fire(Class<T> eventType, T event) {
+        ArgumentCaptor<EventListener<T>> listener = ArgumentCaptor.forClass(EventListener.class);
+        verify(writeApi).listenEvents(eq(eventType), listener.capture());
+        listener.getValue().onEvent(event);
+    }
+
+    private void queuePoints(int count) {
+        for (int i = 0; i < count; i++) {
+            statistics.pointQueued();
+        }
+    }
+
+    @Test
+    public void backpressureCountsDroppedPoints() {
+        queuePoints(5);
+        fire(BackpressureEvent.class, mock(BackpressureEvent.class));
+        fire(BackpressureEvent.class, mock(BackpressureEvent.class));
+
+        assertThat(statistics.getDropped(), is(2L));
+        assertThat(statistics.getPending(), is(3L));
+    }
+
+    @Test
+    public void writeErrorCountsAtMostOneBatchAsDropped() {
+        queuePoints(5);
+        WriteErrorEvent error = mock(WriteErrorEvent.class);
+        when(error.getThrowable()).thenReturn(new IllegalStateException("bad request"));
+
+        fire(WriteErrorEvent.class, error);
+        assertThat(statistics.getFailedBatches(), is(1L));
+        assertThat(statistics.getDropped(), is(3L));
+
+        // only the remaining points can be dropped by a further failure
+        fire(WriteErrorEvent.class, error);
+        assertThat(statistics.getDropped(), is(5L));
+        assertThat(statistics.getPending(), is(0L));
+    }
+
+    @Test
+    public void writeSuccessCountsWrittenPoints() {
+        queuePoints(3);
+        WriteSuccessEvent success = mock(WriteSuccessEvent.class);
+        when(success.getLineProtocol()).thenReturn("m value=1 1\nm value=2 2");
+
+        fire(WriteSuccessEvent.class, success);
+        assertThat(statistics.getWritten(), is(2L));
+        assertThat(statistics.getPending(), is(1L));
+    }
+}
@@ -18,10 +18,13 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -86,6 +89,9 @@ public class JdbcBaseDAO {
     protected String sqlCreateItemTable;
     protected String sqlInsertItemValue;
 
+    // statements per operation, table and data type, so that they are not rebuilt from the templates on every call
+    private final Map<String, String> sqlCache = new ConcurrentHashMap<>();
+
     /********
      * INIT *
      ********/
@@ -327,14 +333,41 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, ItemVO vo) {
         ItemVO storedVO = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = new Object[] { storedVO.getValue(), storedVO.getValue() };
+        String sql = getCachedSql("insertItemValue", storedVO, () -> insertItemValueProvider(storedVO));
+        Object[] params = insertItemValueParams(storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         Yank.execute(sql, params);
     }
 
+    /**
+     * Converts the current state of the item into a value object, so that it can be stored later on with
+     * {@link #doStoreItemValues(List)}. The time of the value is the time of this call.
+     */
+    public ItemVO doPrepareItemValue(Item item, ItemVO vo) {
+        ItemVO storedVO = storeItemValueProvider(item, vo);
+        storedVO.setTime(new Date());
+        return storedVO;
+    }
+
+    /**
+     * Stores the prepared values of one item table with a single JDBC batch.
+     *
+     * @throws IllegalStateException if the batch failed, none of the values might have been stored then
+     */
+    public void doStoreItemValues(List<ItemVO> vol) {
+        if (vol.isEmpty()) {
+            return;
+        }
+        ItemVO firstVO = vol.get(0);
+        String sql = getCachedSql("insertItemValues", firstVO, () -> insertItemValuesProvider(firstVO));
+        Object[][] params = vol.stream().map(this::insertItemValuesParams).toArray(Object[][]::new);
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        // Yank logs the SQLException and returns null instead of throwing it
+        if (Yank.executeBatch(sql, params) == null) {
+            throw new IllegalStateException("Batch insert into table '" + firstVO.getTableName() + "' failed");
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -385,6 +418,29 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    protected String insertItemValueProvider(ItemVO vo) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { vo.getTableName(), sqlTypes.get("tablePrimaryValue") });
+    }
+
+    protected Object[] insertItemValueParams(ItemVO vo) {
+        return new Object[] { vo.getValue(), vo.getValue() };
+    }
+
+    /**
+     * Returns the insert statement for {@link #doStoreItemValues(List)}, which takes the time as parameter instead of
+     * using <code>tablePrimaryValue</code>, as the rows are written after they have been collected.
+     */
+    protected String insertItemValuesProvider(ItemVO vo) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { vo.getTableName(), "?" });
+    }
+
+    protected Object[] insertItemValuesParams(ItemVO vo) {
+        return new Object[] { new Timestamp(vo.getTime().getTime()), vo.getValue(), vo.getValue() };
+    }
+
     private String updateItemTableNamesProvider(List<ItemVO> namesList) {
         logger.debug("JDBC::updateItemTableNamesProvider namesList.size = {}", namesList.size());
         String queryString = "";
@@ -487,6 +543,18 @@ public class JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+    protected String getCachedSql(String operation, ItemVO vo, Supplier<String> sqlProvider) {
+        return sqlCache.computeIfAbsent(operation + "#" + vo.getTableName() + "#" + vo.getDbType(),
+                key -> sqlProvider.get());
+    }
+
+    /**
+     * Drops all cached statements, has to be called whenever the SQL templates or types change.
+     */
+    public void clearSqlCache() {
+        sqlCache.clear();
+    }
+
     protected State getState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v) {
         logger.debug(
                 "JDBC::ItemResultHandler::handleResult getState value = '{}', unit = '{}', getClass = '{}', clazz = '{}'",
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.persistence.jdbc.model.ItemVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes prepared item values asynchronously. Values are collected in a bounded queue and written by a single
+ * writer thread with one JDBC batch per item table, as soon as either <code>batchSize</code> values are pending or
+ * <code>batchInterval</code> milliseconds have passed since the first pending value.
+ *
+ * If the queue is full, the storing thread waits up to <code>batchInterval</code> milliseconds for free space
+ * (back-pressure) before the value is dropped.
+ *
+ * @author agent - Initial contribution
+ */
+public class JdbcBatchWriter {
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private static final long STOP_TIMEOUT = 30000;
+
+    private final JdbcMapper mapper;
+    private final int batchSize;
+    private final long batchInterval;
+    private final BlockingQueue<ItemVO> queue;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    // back-pressure metrics
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    public JdbcBatchWriter(JdbcMapper mapper, int batchSize, int batchInterval, int queueSize) {
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.batchInterval = batchInterval;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writerThread = new Thread(this::run, "OH-persistence-jdbc-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    public void start() {
+        logger.debug("JDBC::JdbcBatchWriter: starting with batchSize={} batchInterval={} ms queueSize={}", batchSize,
+                batchInterval, queue.remainingCapacity());
+        writerThread.start();
+    }
+
+    /**
+     * Adds a value to the queue.
+     *
+     * @return <code>false</code> if the value was dropped because the queue stayed full or the writer is stopped
+     */
+    public boolean offer(ItemVO vo) {
+        if (!running) {
+            logger.debug("JDBC::JdbcBatchWriter: writer is stopped, dropping value for table '{}'", vo.getTableName());
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        if (!queue.offer(vo)) {
+            blockedCount.incrementAndGet();
+            try {
+                if (!queue.offer(vo, batchInterval, TimeUnit.MILLISECONDS)) {
+                    long dropped = droppedCount.incrementAndGet();
+                    logger.warn("JDBC::JdbcBatchWriter: queue is full, dropping value for table '{}' ({} dropped)",
+                            vo.getTableName(), dropped);
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+                return false;
+            }
+        }
+        queuedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stops accepting new values and waits until all queued values have been written.
+     */
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            logger.warn("JDBC::JdbcBatchWriter: writer did not finish within {} ms, {} values are not written",
+                    STOP_TIMEOUT, queue.size());
+        }
+        logger.debug("JDBC::JdbcBatchWriter: stopped, {}", getStatistics());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public String getStatistics() {
+        return "queued=" + queuedCount.get() + " written=" + writtenCount.get() + " batches=" + batchCount.get()
+                + " blocked=" + blockedCount.get() + " dropped=" + droppedCount.get() + " pending=" + queue.size();
+    }
+
+    private void run() {
+        List<ItemVO> pending = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                ItemVO first = queue.poll(batchInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pending.add(first);
+                long deadline = System.currentTimeMillis() + batchInterval;
+                while (pending.size() < batchSize) {
+                    queue.drainTo(pending, batchSize - pending.size());
+                    long wait = deadline - System.currentTimeMillis();
+                    if (pending.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    ItemVO next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    pending.add(next);
+                }
+                flush(pending, pending.size() >= batchSize ? "size" : "interval");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // drain the remaining values on shutdown
+        while (!queue.isEmpty()) {
+            queue.drainTo(pending, batchSize);
+            flush(pending, "shutdown");
+        }
+    }
+
+    private void flush(List<ItemVO> pending, String reason) {
+        Map<String, List<ItemVO>> tables = new LinkedHashMap<>();
+        for (ItemVO vo : pending) {
+            tables.computeIfAbsent(vo.getTableName(), t -> new ArrayList<>()).add(vo);
+        }
+        for (List<ItemVO> vol : tables.values()) {
+            try {
+                mapper.storeItemValues(vol);
+                writtenCount.addAndGet(vol.size());
+            } catch (RuntimeException e) {
+                if (vol.size() == 1) {
+                    droppedCount.incrementAndGet();
+                    logger.warn("JDBC::JdbcBatchWriter: failed to write value to table '{}': {}",
+                            vol.get(0).getTableName(), e.getMessage());
+                } else {
+                    // e.g. a duplicate time, write the values one by one so only the failing ones are lost
+                    logger.debug("JDBC::JdbcBatchWriter: batch to table '{}' failed, writing {} values one by one: {}",
+                            vol.get(0).getTableName(), vol.size(), e.getMessage());
+                    storeSingleItemValues(vol);
+                }
+            }
+        }
+        batchCount.incrementAndGet();
+        logger.debug("JDBC::JdbcBatchWriter: flushed {} values to {} tables (reason: {}), {}", pending.size(),
+                tables.size(), reason, getStatistics());
+        pending.clear();
+    }
+
+    private void storeSingleItemValues(List<ItemVO> vol) {
+        for (ItemVO vo : vol) {
+            try {
+                mapper.storeItemValues(List.of(vo));
+                writtenCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                droppedCount.incrementAndGet();
+                logger.warn("JDBC::JdbcBatchWriter: failed to write value to table '{}': {}", vo.getTableName(),
+                        e.getMessage());
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.knowm.yank.Yank;
@@ -45,7 +46,9 @@ public class JdbcMapper {
     protected int errCnt;
     protected boolean initialized = false;
     protected JdbcConfiguration conf = null;
-    protected final Map<String, String> sqlTables = new HashMap<>();
+    // item name -> table name, maintained incrementally when tables are created or renamed
+    protected final Map<String, String> sqlTables = new ConcurrentHashMap<>();
+    protected volatile JdbcBatchWriter batchWriter = null;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
     private static final String ITEM_NAME_PATTERN = "[^a-zA-Z_0-9\\-]";
@@ -153,12 +156,25 @@ public class JdbcMapper {
             return item;
         }
         long timerStart = System.currentTimeMillis();
-        conf.getDBDAO().doStoreItemValue(item, new ItemVO(tableName, null));
+        JdbcBatchWriter writer = batchWriter;
+        if (writer != null) {
+            writer.offer(conf.getDBDAO().doPrepareItemValue(item, new ItemVO(tableName, null)));
+        } else {
+            conf.getDBDAO().doStoreItemValue(item, new ItemVO(tableName, null));
+            errCnt = 0;
+        }
         logTime("storeItemValue", timerStart, System.currentTimeMillis());
-        errCnt = 0;
         return item;
     }
 
+    public void storeItemValues(List<ItemVO> vol) {
+        logger.debug("JDBC::storeItemValues: table={} size={}", vol.get(0).getTableName(), vol.size());
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(vol);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
             Item item) {
         logger.debug(
@@ -195,6 +211,23 @@ public class JdbcMapper {
         return true;
     }
 
+    protected void startBatchWriter() {
+        if (conf.getBatchSize() > 0) {
+            batchWriter = new JdbcBatchWriter(this, conf.getBatchSize(), conf.getBatchInterval(),
+                    conf.getBatchQueueSize());
+            batchWriter.start();
+        }
+    }
+
+    protected void stopBatchWriter() {
+        JdbcBatchWriter writer = batchWriter;
+        if (writer != null) {
+            // values are still written with the current configuration
+            writer.stop();
+            batchWriter = null;
+        }
+    }
+
     protected void closeConnection() {
         logger.debug("JDBC::closeConnection");
         // Closes all open connection pools
@@ -240,14 +273,24 @@ public class JdbcMapper {
     }
 
     protected String getTable(Item item) {
+        String tableName = sqlTables.get(item.getName());
+
+        // Table already exists - return the name
+        if (tableName != null) {
+            return tableName;
+        }
+
+        return createTable(item);
+    }
+
+    private synchronized String createTable(Item item) {
         int rowId = 0;
         ItemsVO isvo;
         ItemVO ivo;
 
         String itemName = item.getName();
+        // another thread might have created the table in the meantime
         String tableName = sqlTables.get(itemName);
-
-        // Table already exists - return the name
         if (tableName != null) {
             return tableName;
         }
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.openhab.core.items.Item;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Lazily iterated query result. The rows are loaded page by page with <code>fetchSize</code> rows per SQL query
+ * (using the <code>LIMIT</code> clause of the filter query) while the result is iterated, so only one page is held in
+ * memory at a time. The database connection is only used while a page is loaded, so an iterator that is not consumed
+ * completely does not keep any resources open.
+ *
+ * Every call to {@link #iterator()} runs the queries again.
+ *
+ * @author agent - Initial contribution
+ */
+public class JdbcPagedHistoricItems implements Iterable<HistoricItem> {
+
+    private final JdbcMapper mapper;
+    private final FilterCriteria filter;
+    private final ZonedDateTime endDate;
+    private final int numberDecimalcount;
+    private final String table;
+    private final Item item;
+    private final int fetchSize;
+
+    public JdbcPagedHistoricItems(JdbcMapper mapper, FilterCriteria filter, int numberDecimalcount, String table,
+            Item item, int fetchSize) {
+        this.mapper = mapper;
+        this.filter = filter;
+        // fix the end of an open time range, so that values stored while iterating do not shift the pages
+        ZonedDateTime filterEndDate = filter.getEndDate();
+        this.endDate = filterEndDate != null ? filterEndDate : ZonedDateTime.now();
+        this.numberDecimalcount = numberDecimalcount;
+        this.table = table;
+        this.item = item;
+        this.fetchSize = fetchSize;
+    }
+
+    private List<HistoricItem> loadPage(int pageNumber) {
+        FilterCriteria pageFilter = new FilterCriteria().setItemName(filter.getItemName())
+                .setBeginDate(filter.getBeginDate()).setEndDate(endDate).setOrdering(filter.getOrdering())
+                .setOperator(filter.getOperator()).setState(filter.getState()).setPageSize(fetchSize)
+                .setPageNumber(pageNumber);
+        List<HistoricItem> rows = mapper.getHistItemFilterQuery(pageFilter, numberDecimalcount, table, item);
+        return rows != null ? rows : List.of();
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new Iterator<HistoricItem>() {
+            private int pageNumber = 0;
+            private Iterator<HistoricItem> page = Collections.emptyIterator();
+            private boolean lastPage = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && !lastPage) {
+                    List<HistoricItem> rows = loadPage(pageNumber++);
+                    // a page with less than fetchSize rows is the last one
+                    lastPage = rows.size() < fetchSize;
+                    page = rows.iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+}
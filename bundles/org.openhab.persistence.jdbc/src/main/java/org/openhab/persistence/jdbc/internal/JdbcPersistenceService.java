@@ -103,6 +103,8 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        // write pending values before the service is gone
+        stopBatchWriter();
         // closeConnection();
         initialized = false;
     }
@@ -201,8 +203,18 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
             table = getTable(item);
         }
 
+        int fetchSize = conf.getQueryFetchSize();
+        if (fetchSize > 0 && filter.getPageSize() == Integer.MAX_VALUE) {
+            // unpaged queries are loaded lazily in pages of fetchSize rows while the result is iterated
+            logger.debug("JDBC::query: query for {} is loaded in pages of {} rows", itemName, fetchSize);
+            return new JdbcPagedHistoricItems(this, filter, conf.getNumberDecimalcount(), table, item, fetchSize);
+        }
+
         long timerStart = System.currentTimeMillis();
         List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+        if (items == null) {
+            return List.of();
+        }
 
         logger.debug("JDBC::query: query for {} returned {} rows in {} ms", itemName, items.size(),
                 System.currentTimeMillis() - timerStart);
@@ -215,9 +227,11 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopBatchWriter();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             checkDBSchema();
+            startBatchWriter();
             // connection has been established ... initialization completed!
             initialized = true;
         } else {
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jdbc.model.ItemVO;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JdbcBatchWriterTest {
+
+    private final Set<Long> storedTimes = new HashSet<>();
+
+    private static ItemVO itemValue(long time, Object value) {
+        ItemVO vo = new ItemVO("item0001", null);
+        vo.setTime(new Date(time));
+        vo.setValue(value);
+        return vo;
+    }
+
+    /**
+     * Behaves like an insert into a table with the time as primary key: a batch with a duplicate time fails as a
+     * whole.
+     */
+    private void storeItemValues(List<ItemVO> vol) {
+        Set<Long> times = new HashSet<>();
+        for (ItemVO vo : vol) {
+            long time = vo.getTime().getTime();
+            if (storedTimes.contains(time) || !times.add(time)) {
+                throw new IllegalStateException("Duplicate time " + time);
+            }
+        }
+        storedTimes.addAll(times);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDuplicateTimeOnlyDropsOneValue() {
+        JdbcMapper mapper = mock(JdbcMapper.class);
+        doAnswer(invocation -> {
+            storeItemValues(invocation.getArgument(0));
+            return null;
+        }).when(mapper).storeItemValues(anyList());
+
+        JdbcBatchWriter writer = new JdbcBatchWriter(mapper, 3, 1000, 10);
+        writer.offer(itemValue(1000, 1.0));
+        writer.offer(itemValue(1000, 2.0));
+        writer.offer(itemValue(2000, 3.0));
+        writer.start();
+        writer.stop();
+
+        assertThat(writer.getWrittenCount(), is(2L));
+        assertThat(writer.getDroppedCount(), is(1L));
+        assertThat(storedTimes, is(Set.of(1000L, 2000L)));
+    }
+}
@@ -32,6 +32,9 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_FETCHSIZE = "fetchsize";
+
+    private static final int DEFAULT_FETCHSIZE = 10000;
 
     public static boolean isInitialized = false;
 
@@ -40,6 +43,7 @@ public class JpaConfiguration {
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int dbFetchSize;
 
     public JpaConfiguration(final Map<String, Object> properties) {
         logger.debug("Update config...");
@@ -77,6 +81,18 @@ public class JpaConfiguration {
         }
         dbSyncMapping = (String) properties.get(CFG_SYNCMAPPING);
 
+        int fetchSize = DEFAULT_FETCHSIZE;
+        param = (String) properties.get(CFG_FETCHSIZE);
+        if (param != null && !param.isBlank()) {
+            try {
+                fetchSize = Integer.parseInt(param.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}' in jpa.cfg, using {}", CFG_FETCHSIZE, param, DEFAULT_FETCHSIZE);
+            }
+        }
+        logger.debug("fetchsize: {}", fetchSize);
+        dbFetchSize = fetchSize;
+
         isInitialized = true;
         logger.debug("Update config... done");
     }
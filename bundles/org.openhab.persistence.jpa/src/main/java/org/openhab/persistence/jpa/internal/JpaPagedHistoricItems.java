@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Lazily iterated query result. The persisted items are loaded with <code>fetchSize</code> rows per JPQL query
+ * (using {@link javax.persistence.Query#setFirstResult(int)}) while the result is iterated, so only one page is held
+ * in memory at a time. Each page uses its own {@link javax.persistence.EntityManager}, so an iterator that is not
+ * consumed completely does not keep any resources open.
+ *
+ * Every call to {@link #iterator()} runs the queries again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JpaPagedHistoricItems implements Iterable<HistoricItem> {
+
+    private final JpaPersistenceService service;
+    private final String queryString;
+    private final FilterCriteria filter;
+    private final Item item;
+    private final int fetchSize;
+
+    /**
+     * @param service the service running the queries
+     * @param queryString the JPQL query, it needs a stable order so that the pages do not overlap
+     * @param filter the filter providing the query parameters
+     * @param item the queried item
+     * @param fetchSize the number of rows per query
+     */
+    public JpaPagedHistoricItems(JpaPersistenceService service, String queryString, FilterCriteria filter, Item item,
+            int fetchSize) {
+        this.service = service;
+        this.queryString = queryString;
+        this.filter = filter;
+        this.item = item;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new Iterator<HistoricItem>() {
+            private int firstResult = 0;
+            private Iterator<HistoricItem> rows = Collections.emptyIterator();
+            private boolean complete = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!rows.hasNext() && !complete) {
+                    List<HistoricItem> result = service.queryPage(queryString, filter, item, firstResult, fetchSize,
+                            fetchSize);
+                    firstResult += result.size();
+                    // less rows than requested, the query is exhausted
+                    complete = result.size() < fetchSize;
+                    rows = result.iterator();
+                }
+                return rows.hasNext();
+            }
+
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return rows.next();
+            }
+        };
+    }
+}
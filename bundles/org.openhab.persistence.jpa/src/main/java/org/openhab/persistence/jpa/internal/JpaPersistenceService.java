@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -184,22 +185,38 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             sortOrder = "DESC";
         }
 
-        boolean hasBeginDate = false;
-        boolean hasEndDate = false;
+        int fetchSize = config.dbFetchSize;
+        boolean paged = fetchSize > 0 && filter.getPageSize() == Integer.MAX_VALUE;
+        FilterCriteria queryFilter = filter;
+        if (paged && filter.getEndDate() == null) {
+            // fix the end of an open time range, so that values stored while iterating do not shift the pages
+            queryFilter = new FilterCriteria().setItemName(filter.getItemName()).setBeginDate(filter.getBeginDate())
+                    .setEndDate(ZonedDateTime.now()).setOrdering(filter.getOrdering());
+        }
+
         String queryString = "SELECT n FROM " + JpaPersistentItem.class.getSimpleName()
                 + " n WHERE n.realName = :itemName";
-        if (filter.getBeginDate() != null) {
+        if (queryFilter.getBeginDate() != null) {
             queryString += " AND n.timestamp >= :beginDate";
-            hasBeginDate = true;
         }
-        if (filter.getEndDate() != null) {
+        if (queryFilter.getEndDate() != null) {
             queryString += " AND n.timestamp <= :endDate";
-            hasEndDate = true;
         }
-        queryString += " ORDER BY n.timestamp " + sortOrder;
+        // order by id as well, so that pages do not overlap for equal timestamps
+        queryString += " ORDER BY n.timestamp " + sortOrder + ", n.id " + sortOrder;
 
         logger.debug("The query: {}", queryString);
 
+        if (paged) {
+            // unpaged queries are loaded lazily in pages of fetchSize rows while the result is iterated
+            return new JpaPagedHistoricItems(this, queryString, queryFilter, item, fetchSize);
+        }
+        return queryPage(queryString, filter, item, filter.getPageNumber() * filter.getPageSize(),
+                filter.getPageSize(), fetchSize);
+    }
+
+    List<HistoricItem> queryPage(String queryString, FilterCriteria filter, Item item, int firstResult,
+            int maxResults, int fetchSize) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
@@ -208,15 +225,20 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.debug("Creating query...");
             Query query = em.createQuery(queryString);
             query.setParameter("itemName", item.getName());
-            if (hasBeginDate) {
-                query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
+            ZonedDateTime beginDate = filter.getBeginDate();
+            if (beginDate != null) {
+                query.setParameter("beginDate", Date.from(beginDate.toInstant()));
             }
-            if (hasEndDate) {
-                query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
+            ZonedDateTime endDate = filter.getEndDate();
+            if (endDate != null) {
+                query.setParameter("endDate", Date.from(endDate.toInstant()));
             }
 
-            query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
-            query.setMaxResults(filter.getPageSize());
+            query.setFirstResult(firstResult);
+            query.setMaxResults(maxResults);
+            if (fetchSize > 0) {
+                query.setHint("openjpa.FetchPlan.FetchBatchSize", fetchSize);
+            }
             logger.debug("Creating query...done");
 
             logger.debug("Retrieving result list...");
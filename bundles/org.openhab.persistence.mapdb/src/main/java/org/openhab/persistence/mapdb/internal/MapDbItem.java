@@ -60,6 +60,10 @@ public class MapDbItem implements HistoricItem, PersistenceItemInfo {
         return ZonedDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
     }
 
+    public long getTimestampMillis() {
+        return timestamp.getTime();
+    }
+
     public void setTimestamp(Date timestamp) {
         this.timestamp = timestamp;
     }
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.NextPreviousType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.RawType;
+import org.openhab.core.library.types.RewindFastforwardType;
+import org.openhab.core.library.types.StringListType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+
+/**
+ * Compact binary encoding of a {@link MapDbItem}. The item name is not encoded because it is the key in the map.
+ *
+ * The encoding consists of a format version byte, the timestamp in milliseconds, a type code for the state class
+ * (followed by the class name if the class has no code) and the full string representation of the state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializer {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte CUSTOM_TYPE = 0;
+
+    /**
+     * The type code of a state class is its index in this list plus one, so new types must only be appended.
+     */
+    private static final List<Class<? extends State>> STATE_TYPES = List.of(DecimalType.class, QuantityType.class,
+            OnOffType.class, OpenClosedType.class, PercentType.class, HSBType.class, StringType.class,
+            DateTimeType.class, PointType.class, UpDownType.class, PlayPauseType.class, RewindFastforwardType.class,
+            NextPreviousType.class, StringListType.class, RawType.class);
+
+    private MapDbItemSerializer() {
+        // only static methods
+    }
+
+    public static byte[] serialize(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(item.getTimestampMillis());
+            State state = item.getState();
+            int typeCode = STATE_TYPES.indexOf(state.getClass()) + 1;
+            out.writeByte(typeCode);
+            if (typeCode == CUSTOM_TYPE) {
+                writeString(out, state.getClass().getName());
+            }
+            writeString(out, state.toFullString());
+        } catch (IOException e) {
+            // cannot happen with a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item that was encoded with {@link #serialize(MapDbItem)}.
+     *
+     * @param name the name of the item
+     * @param data the encoded item
+     * @return the item
+     * @throws IOException if the data is not a valid encoded item
+     */
+    public static MapDbItem deserialize(String name, byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            long timestamp = in.readLong();
+            int typeCode = in.readUnsignedByte();
+            Class<? extends State> type = typeCode == CUSTOM_TYPE ? loadStateType(readString(in))
+                    : getStateType(typeCode);
+            String value = readString(in);
+            State state = TypeParser.parseState(List.of(type), value);
+            if (state == null) {
+                throw new IOException("Cannot parse '" + value + "' as " + type.getSimpleName());
+            }
+
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            return item;
+        }
+    }
+
+    private static Class<? extends State> getStateType(int typeCode) throws IOException {
+        if (typeCode > STATE_TYPES.size()) {
+            throw new IOException("Unknown state type code " + typeCode);
+        }
+        return STATE_TYPES.get(typeCode - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends State> loadStateType(String className) throws IOException {
+        try {
+            Class<?> type = Class.forName(className);
+            if (!State.class.isAssignableFrom(type)) {
+                throw new IOException("Not a state type: " + className);
+            }
+            return (Class<? extends State>) type;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown state type: " + className, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
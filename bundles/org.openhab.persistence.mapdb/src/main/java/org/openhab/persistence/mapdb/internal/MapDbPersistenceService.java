@@ -24,7 +24,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -68,16 +70,29 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String JSON_STORE_NAME = "itemStore";
+    private static final String BINARY_STORE_NAME = "itemStoreBinary";
+
+    /** maximum time in milliseconds before stored states are committed */
+    private static final long COMMIT_INTERVAL = 1000;
+    /** number of stored states after which they are committed immediately */
+    private static final int COMMIT_COUNT = 100;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /** holds the local instance of the MapDB database */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    private final Object commitLock = new Object();
+    private @Nullable ScheduledFuture<?> commitJob;
+    private int uncommittedCount = 0;
 
+    /** only used to convert the states stored as JSON by previous versions */
     private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
@@ -96,7 +111,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            openMap();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException) {
@@ -129,7 +144,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                openMap();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -138,10 +153,37 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    private void openMap() {
+        map = db.createTreeMap(BINARY_STORE_NAME).makeOrGet();
+        if (db.exists(JSON_STORE_NAME)) {
+            // convert the states stored as JSON by previous versions
+            Map<String, String> jsonMap = db.getTreeMap(JSON_STORE_NAME);
+            int count = 0;
+            for (Map.Entry<String, String> entry : jsonMap.entrySet()) {
+                Optional<MapDbItem> item = deserializeJson(entry.getValue());
+                if (item.isPresent() && !map.containsKey(entry.getKey())) {
+                    map.put(entry.getKey(), MapDbItemSerializer.serialize(item.get()));
+                    count++;
+                }
+            }
+            db.delete(JSON_STORE_NAME);
+            db.commit();
+            logger.info("Converted {} states in the MapDB to the binary format", count);
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            synchronized (commitLock) {
+                ScheduledFuture<?> job = commitJob;
+                if (job != null) {
+                    job.cancel(false);
+                    commitJob = null;
+                }
+            }
+            commit();
             db.close();
         }
     }
@@ -158,7 +200,8 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        return map.entrySet().stream().map(entry -> deserialize(entry.getKey(), entry.getValue()))
+                .flatMap(MapDbPersistenceService::streamOptional)
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -182,30 +225,40 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(localAlias, json);
-        commit();
-        if (logger.isDebugEnabled()) {
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        }
+        map.put(localAlias, MapDbItemSerializer.serialize(mItem));
+        scheduleCommit();
+        logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String name = filter.getItemName();
+        if (name == null) {
+            return List.of();
+        }
+        byte[] data = map.get(name);
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(name, data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<MapDbItem> deserialize(String name, byte[] data) {
+        try {
+            MapDbItem item = MapDbItemSerializer.deserialize(name, data);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+            }
+            return Optional.of(item);
+        } catch (IOException e) {
+            logger.warn("Failed to deserialize the state of '{}': {}", name, e.getMessage());
+            return Optional.empty();
+        }
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(String json) {
         MapDbItem item = mapper.<MapDbItem> fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
@@ -217,8 +270,40 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
+    /**
+     * Schedules a commit of the stored states. At most one commit is pending, which runs after
+     * {@link #COMMIT_INTERVAL} milliseconds or as soon as {@link #COMMIT_COUNT} states have been stored.
+     */
+    private void scheduleCommit() {
+        synchronized (commitLock) {
+            uncommittedCount++;
+            ScheduledFuture<?> job = commitJob;
+            if (job == null) {
+                commitJob = scheduler.schedule(this::commit, uncommittedCount >= COMMIT_COUNT ? 0 : COMMIT_INTERVAL,
+                        TimeUnit.MILLISECONDS);
+            } else if (uncommittedCount >= COMMIT_COUNT && job.getDelay(TimeUnit.MILLISECONDS) > 0
+                    && job.cancel(false)) {
+                commitJob = scheduler.schedule(this::commit, 0, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
     private void commit() {
-        threadPool.submit(() -> db.commit());
+        int count;
+        synchronized (commitLock) {
+            // states stored from now on are committed by the next job
+            commitJob = null;
+            count = uncommittedCount;
+            uncommittedCount = 0;
+        }
+        if (count > 0) {
+            try {
+                db.commit();
+                logger.trace("Committed {} stored states", count);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to commit {} stored states: {}", count, e.getMessage());
+            }
+        }
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
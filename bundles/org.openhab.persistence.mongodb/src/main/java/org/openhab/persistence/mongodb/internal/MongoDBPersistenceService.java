@@ -14,17 +14,23 @@ package org.openhab.persistence.mongodb.internal;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -59,12 +65,15 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.AggregationOptions;
 import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.Cursor;
 import com.mongodb.DBCollection;
-import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
@@ -81,15 +90,29 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_REALNAME = "realName";
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
+    private static final String FIELD_BUCKET = "bucket";
+    private static final String FIELD_SAMPLES = "samples";
+
+    private static final String LAYOUT_BUCKET = "bucket";
+
+    /** number of buffered states that triggers a flush before the flush interval has elapsed */
+    private static final int MAX_BUFFERED_STATES = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private @NonNullByDefault({}) String url;
     private @NonNullByDefault({}) String db;
     private @NonNullByDefault({}) String collection;
+    private long flushInterval;
+    private boolean bucketed;
 
     private boolean initialized = false;
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persistence");
+    private final Object bufferLock = new Object();
+    private List<DBObject> buffer = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+
     protected final ItemRegistry itemRegistry;
 
     private @NonNullByDefault({}) MongoClient cl;
@@ -121,6 +144,11 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
                     "The MongoDB database collection is missing - please configure the mongodb:collection parameter.");
             return;
         }
+        flushInterval = getLongValue(config, "flushInterval", 0);
+        logger.debug("MongoDB flush interval {} ms", flushInterval);
+        Object layout = config.get("layout");
+        bucketed = layout != null && LAYOUT_BUCKET.equalsIgnoreCase(layout.toString().trim());
+        logger.debug("MongoDB bucketed layout {}", bucketed);
 
         disconnectFromDatabase();
         connectToDatabase();
@@ -132,9 +160,31 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        synchronized (bufferLock) {
+            ScheduledFuture<?> job = flushJob;
+            if (job != null) {
+                job.cancel(false);
+                flushJob = null;
+            }
+        }
+        flush();
         disconnectFromDatabase();
     }
 
+    private long getLongValue(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof String && !((String) value).isBlank()) {
+            try {
+                return Long.parseLong(((String) value).trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for {}, using {}", value, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -181,9 +231,103 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         obj.put(FIELD_REALNAME, realName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        this.mongoCollection.save(obj);
 
-        logger.debug("MongoDB save {}={}", name, value);
+        if (flushInterval <= 0) {
+            write(List.of(obj));
+            logger.debug("MongoDB save {}={}", name, value);
+            return;
+        }
+
+        synchronized (bufferLock) {
+            buffer.add(obj);
+            ScheduledFuture<?> job = flushJob;
+            if (buffer.size() >= MAX_BUFFERED_STATES) {
+                if (job == null || job.cancel(false)) {
+                    flushJob = scheduler.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+                }
+            } else if (job == null) {
+                flushJob = scheduler.schedule(this::flush, flushInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+        logger.debug("MongoDB buffered {}={}", name, value);
+    }
+
+    /**
+     * Writes all buffered states to the database
+     */
+    private void flush() {
+        List<DBObject> objects;
+        synchronized (bufferLock) {
+            flushJob = null;
+            if (buffer.isEmpty()) {
+                return;
+            }
+            objects = buffer;
+            buffer = new ArrayList<>();
+        }
+        if (!isConnected()) {
+            logger.warn("mongodb: No connection to database. Dropping {} buffered states.", objects.size());
+            return;
+        }
+        write(objects);
+        logger.debug("MongoDB flushed {} states", objects.size());
+    }
+
+    /**
+     * Writes the given states with a single bulk operation
+     *
+     * @param objects states in the document layout
+     */
+    private void write(List<DBObject> objects) {
+        DBCollection target = mongoCollection;
+        if (target == null) {
+            return;
+        }
+        try {
+            if (!bucketed) {
+                target.insert(objects);
+                return;
+            }
+
+            // group the samples by item and hour, so that each bucket is updated once
+            Map<List<Object>, List<DBObject>> samplesByBucket = new LinkedHashMap<>();
+            Map<List<Object>, String> realNames = new LinkedHashMap<>();
+            for (DBObject obj : objects) {
+                Date timestamp = (Date) obj.get(FIELD_TIMESTAMP);
+                List<Object> bucketKey = List.of(obj.get(FIELD_ITEM), getBucket(timestamp));
+                samplesByBucket.computeIfAbsent(bucketKey, k -> new ArrayList<>())
+                        .add(new BasicDBObject(FIELD_TIMESTAMP, timestamp).append(FIELD_VALUE, obj.get(FIELD_VALUE)));
+                realNames.put(bucketKey, (String) obj.get(FIELD_REALNAME));
+            }
+            BulkWriteOperation bulk = target.initializeOrderedBulkOperation();
+            for (Map.Entry<List<Object>, List<DBObject>> entry : samplesByBucket.entrySet()) {
+                List<Object> bucketKey = entry.getKey();
+                DBObject query = new BasicDBObject(FIELD_ITEM, bucketKey.get(0)).append(FIELD_BUCKET,
+                        bucketKey.get(1));
+                DBObject update = new BasicDBObject("$push",
+                        new BasicDBObject(FIELD_SAMPLES, new BasicDBObject("$each", entry.getValue())))
+                                .append("$set", new BasicDBObject(FIELD_REALNAME, realNames.get(bucketKey)));
+                bulk.find(query).upsert().updateOne(update);
+            }
+            bulk.execute();
+        } catch (MongoException e) {
+            logger.warn("Failed to write {} states to MongoDB: {}", objects.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return start of the hour of the timestamp, which identifies the bucket in the bucketed layout
+     */
+    private static Date getBucket(Date timestamp) {
+        return Date.from(timestamp.toInstant().truncatedTo(ChronoUnit.HOURS));
+    }
+
+    /**
+     * @return start of the bucket holding the samples of the given time. Buckets start at full hours in UTC, so this
+     *         is not the start of the hour in the zone of the time if its offset is not a whole number of hours.
+     */
+    static ZonedDateTime getBucket(ZonedDateTime time) {
+        return ZonedDateTime.ofInstant(time.toInstant().truncatedTo(ChronoUnit.HOURS), time.getZone());
     }
 
     private Object convertValue(State state) {
@@ -231,8 +375,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             this.cl = new MongoClient(new MongoClientURI(this.url));
             mongoCollection = cl.getDB(this.db).getCollection(this.collection);
 
+            // compound index matching the queries: equality on the item, range and sort on the time
             BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_TIMESTAMP, 1).append(FIELD_ITEM, 1);
+            idx.append(FIELD_ITEM, 1).append(bucketed ? FIELD_BUCKET : FIELD_TIMESTAMP, 1);
             this.mongoCollection.createIndex(idx);
             logger.debug("Connect MongoDB ... done");
         } catch (Exception e) {
@@ -270,6 +415,44 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         Item item = getItem(name);
 
         List<HistoricItem> items = new ArrayList<>();
+        Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
+        Cursor cursor = bucketed ? queryBuckets(filter, sortDir) : queryDocuments(filter, sortDir);
+        try {
+            while (cursor.hasNext()) {
+                BasicDBObject obj = (BasicDBObject) cursor.next();
+
+                final State state;
+                if (item instanceof NumberItem) {
+                    state = new DecimalType(obj.getDouble(FIELD_VALUE));
+                } else if (item instanceof DimmerItem) {
+                    state = new PercentType(obj.getInt(FIELD_VALUE));
+                } else if (item instanceof SwitchItem) {
+                    state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
+                } else if (item instanceof ContactItem) {
+                    state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
+                } else if (item instanceof RollershutterItem) {
+                    state = new PercentType(obj.getInt(FIELD_VALUE));
+                } else if (item instanceof DateTimeItem) {
+                    state = new DateTimeType(
+                            ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
+                } else {
+                    state = new StringType(obj.getString(FIELD_VALUE));
+                }
+
+                items.add(new MongoDBItem(name, state,
+                        ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return items;
+    }
+
+    /**
+     * Queries the documents of the document layout, one document per state
+     */
+    private Cursor queryDocuments(FilterCriteria filter, int sortDir) {
         DBObject query = new BasicDBObject();
         if (filter.getItemName() != null) {
             query.put(FIELD_ITEM, filter.getItemName());
@@ -279,43 +462,71 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             Object value = convertValue(filter.getState());
             query.put(FIELD_VALUE, new BasicDBObject(op, value));
         }
-        if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$gte", filter.getBeginDate()));
-        }
-        if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$lte", filter.getBeginDate()));
+        DBObject timeRange = createTimeRange(filter.getBeginDate(), filter.getEndDate());
+        if (timeRange != null) {
+            query.put(FIELD_TIMESTAMP, timeRange);
         }
 
-        Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        DBCursor cursor = this.mongoCollection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
+        return this.mongoCollection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
                 .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
+    }
 
-        while (cursor.hasNext()) {
-            BasicDBObject obj = (BasicDBObject) cursor.next();
-
-            final State state;
-            if (item instanceof NumberItem) {
-                state = new DecimalType(obj.getDouble(FIELD_VALUE));
-            } else if (item instanceof DimmerItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof SwitchItem) {
-                state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof ContactItem) {
-                state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof RollershutterItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof DateTimeItem) {
-                state = new DateTimeType(
-                        ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
-            } else {
-                state = new StringType(obj.getString(FIELD_VALUE));
-            }
+    /**
+     * Queries the samples of the bucketed layout. The buckets are selected using the index, then their samples are
+     * unwound and filtered so that the results have the same fields as the documents of the document layout.
+     */
+    private Cursor queryBuckets(FilterCriteria filter, int sortDir) {
+        DBObject bucketQuery = new BasicDBObject();
+        if (filter.getItemName() != null) {
+            bucketQuery.put(FIELD_ITEM, filter.getItemName());
+        }
+        ZonedDateTime beginDate = filter.getBeginDate();
+        DBObject bucketRange = createTimeRange(beginDate == null ? null : getBucket(beginDate), filter.getEndDate());
+        if (bucketRange != null) {
+            bucketQuery.put(FIELD_BUCKET, bucketRange);
+        }
+
+        DBObject sampleQuery = new BasicDBObject();
+        if (filter.getState() != null && filter.getOperator() != null) {
+            String op = convertOperator(filter.getOperator());
+            Object value = convertValue(filter.getState());
+            sampleQuery.put(FIELD_SAMPLES + "." + FIELD_VALUE, new BasicDBObject(op, value));
+        }
+        DBObject timeRange = createTimeRange(beginDate, filter.getEndDate());
+        if (timeRange != null) {
+            sampleQuery.put(FIELD_SAMPLES + "." + FIELD_TIMESTAMP, timeRange);
+        }
 
-            items.add(new MongoDBItem(name, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+        List<DBObject> pipeline = new ArrayList<>();
+        pipeline.add(new BasicDBObject("$match", bucketQuery));
+        pipeline.add(new BasicDBObject("$unwind", "$" + FIELD_SAMPLES));
+        if (!sampleQuery.keySet().isEmpty()) {
+            pipeline.add(new BasicDBObject("$match", sampleQuery));
         }
+        pipeline.add(new BasicDBObject("$sort", new BasicDBObject(FIELD_SAMPLES + "." + FIELD_TIMESTAMP, sortDir)));
+        pipeline.add(new BasicDBObject("$skip", filter.getPageNumber() * filter.getPageSize()));
+        pipeline.add(new BasicDBObject("$limit", filter.getPageSize()));
+        pipeline.add(new BasicDBObject("$project",
+                new BasicDBObject(FIELD_ID, 0).append(FIELD_TIMESTAMP, "$" + FIELD_SAMPLES + "." + FIELD_TIMESTAMP)
+                        .append(FIELD_VALUE, "$" + FIELD_SAMPLES + "." + FIELD_VALUE)));
+
+        AggregationOptions options = AggregationOptions.builder().allowDiskUse(true)
+                .outputMode(AggregationOptions.OutputMode.CURSOR).build();
+        return this.mongoCollection.aggregate(pipeline, options);
+    }
 
-        return items;
+    private @Nullable DBObject createTimeRange(@Nullable ZonedDateTime beginDate, @Nullable ZonedDateTime endDate) {
+        if (beginDate == null && endDate == null) {
+            return null;
+        }
+        BasicDBObject range = new BasicDBObject();
+        if (beginDate != null) {
+            range.put("$gte", Date.from(beginDate.toInstant()));
+        }
+        if (endDate != null) {
+            range.put("$lte", Date.from(endDate.toInstant()));
+        }
+        return range;
     }
 
     private @Nullable String convertOperator(Operator operator) {
@@ -331,7 +542,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             case LTE:
                 return "$lte";
             case NEQ:
-                return "$neq";
+                return "$ne";
             default:
                 return null;
         }
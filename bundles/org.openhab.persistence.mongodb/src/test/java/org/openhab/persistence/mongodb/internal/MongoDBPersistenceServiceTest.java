@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the bucketed layout of the {@link MongoDBPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBPersistenceServiceTest {
+
+    @Test
+    public void testBucketInWholeHourZone() {
+        ZonedDateTime time = ZonedDateTime.of(2021, 3, 1, 10, 15, 0, 0, ZoneId.of("+02:00"));
+        assertEquals(Instant.parse("2021-03-01T08:00:00Z"), MongoDBPersistenceService.getBucket(time).toInstant());
+    }
+
+    @Test
+    public void testBucketInHalfHourZone() {
+        // 10:15 local time is 04:45 UTC, the sample is stored in the bucket starting at 04:00 UTC
+        ZonedDateTime time = ZonedDateTime.of(2021, 3, 1, 10, 15, 0, 0, ZoneId.of("+05:30"));
+        assertEquals(Instant.parse("2021-03-01T04:00:00Z"), MongoDBPersistenceService.getBucket(time).toInstant());
+    }
+
+    @Test
+    public void testBucketInQuarterHourZone() {
+        // 10:15 local time is 04:30 UTC
+        ZonedDateTime time = ZonedDateTime.of(2021, 3, 1, 10, 15, 0, 0, ZoneId.of("+05:45"));
+        assertEquals(Instant.parse("2021-03-01T04:00:00Z"), MongoDBPersistenceService.getBucket(time).toInstant());
+    }
+}
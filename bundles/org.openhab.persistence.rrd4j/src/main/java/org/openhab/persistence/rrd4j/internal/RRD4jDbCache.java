@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jDbCache} keeps a bounded number of {@link RrdDb} instances open, so that stores and queries do not
+ * have to open and parse the database file on every access.
+ *
+ * Databases are handed out with {@link #acquire(String, Function)} and must be given back with
+ * {@link #release(String, RrdDb)}. When the capacity is exceeded, the least recently used databases that are not in
+ * use are closed.
+ *
+ * Databases are opened outside of the cache-wide lock, so opening or creating a database file only blocks other
+ * accesses to the same database.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RRD4jDbCache {
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDbCache.class);
+
+    private final Map<String, CachedDb> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // invalidated databases that are still in use, they are closed when they are released
+    private final Map<RrdDb, CachedDb> invalidatedEntries = new IdentityHashMap<>();
+    // guarded by this, serializes opening the same database, removed when no thread is opening it anymore
+    private final Map<String, OpenLock> openLocks = new HashMap<>();
+
+    private int capacity;
+
+    RRD4jDbCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the open database for the given name, opening it with the given function if it is not cached yet.
+     *
+     * @param name the name of the database (the item name or alias)
+     * @param opener used to open the database if it is not cached, may return <code>null</code>
+     * @return the database or <code>null</code> if it could not be opened
+     */
+    @Nullable
+    RrdDb acquire(String name, Function<String, @Nullable RrdDb> opener) {
+        OpenLock openLock;
+        synchronized (this) {
+            RrdDb db = use(name);
+            if (db != null) {
+                return db;
+            }
+            openLock = openLocks.computeIfAbsent(name, key -> new OpenLock());
+            openLock.threads++;
+        }
+        try {
+            synchronized (openLock) {
+                synchronized (this) {
+                    // another thread might have opened the database in the meantime
+                    RrdDb db = use(name);
+                    if (db != null) {
+                        return db;
+                    }
+                }
+                RrdDb db = opener.apply(name);
+                if (db == null) {
+                    return null;
+                }
+                synchronized (this) {
+                    entries.put(name, new CachedDb(db));
+                    return use(name);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                if (--openLock.threads == 0) {
+                    openLocks.remove(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives back a database obtained by {@link #acquire(String, Function)}.
+     *
+     * @param name the name of the database
+     * @param db the database returned by {@link #acquire(String, Function)}
+     */
+    synchronized void release(String name, RrdDb db) {
+        CachedDb entry = entries.get(name);
+        if (entry != null && entry.db == db) {
+            if (entry.users > 0) {
+                entry.users--;
+            }
+        } else {
+            entry = invalidatedEntries.get(db);
+            if (entry != null && --entry.users <= 0) {
+                invalidatedEntries.remove(db);
+                close(name, entry);
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Closes and removes the database for the given name. If it is currently in use, it is closed when it is
+     * released. The next {@link #acquire(String, Function)} opens the database again.
+     *
+     * @param name the name of the database
+     */
+    synchronized void invalidate(String name) {
+        CachedDb entry = entries.remove(name);
+        if (entry != null) {
+            invalidate(name, entry);
+        }
+    }
+
+    /**
+     * Closes and removes all cached databases. Databases that are currently in use are closed when they are released.
+     */
+    synchronized void invalidateAll() {
+        Map<String, CachedDb> removed = new LinkedHashMap<>(entries);
+        entries.clear();
+        removed.forEach(this::invalidate);
+    }
+
+    synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        evict();
+    }
+
+    private @Nullable RrdDb use(String name) {
+        // invalidated databases are not in entries anymore, so they are never handed out again
+        CachedDb entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        entry.users++;
+        evict();
+        return entry.db;
+    }
+
+    private void invalidate(String name, CachedDb entry) {
+        if (entry.users == 0) {
+            close(name, entry);
+        } else {
+            invalidatedEntries.put(entry.db, entry);
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, CachedDb>> iterator = entries.entrySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            Map.Entry<String, CachedDb> eldest = iterator.next();
+            if (eldest.getValue().users == 0) {
+                iterator.remove();
+                close(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    private void close(String name, CachedDb entry) {
+        try {
+            entry.db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database '{}': {}", name, e.getMessage());
+        }
+    }
+
+    private static class CachedDb {
+        private final RrdDb db;
+        private int users;
+
+        private CachedDb(RrdDb db) {
+            this.db = db;
+        }
+    }
+
+    private static class OpenLock {
+        // guarded by the cache
+        private int threads;
+    }
+}
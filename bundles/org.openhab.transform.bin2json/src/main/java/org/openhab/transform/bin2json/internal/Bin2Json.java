@@ -12,8 +12,10 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
@@ -50,7 +52,8 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
 /**
  * This class converts binary data to JSON format.
  *
- * Parser rules follows Java Binary Block Parser syntax.
+ * Parser rules follows Java Binary Block Parser syntax. The rules are compiled once in the constructor, so an instance
+ * should be reused for all data with the same rules. Instances are thread-safe.
  *
  * <p>
  *
@@ -73,7 +76,7 @@ public class Bin2Json {
 
     private final Logger logger = LoggerFactory.getLogger(Bin2Json.class);
 
-    private JBBPParser parser;
+    private final JBBPParser parser;
 
     /**
      *
@@ -120,6 +123,22 @@ public class Bin2Json {
         }
     }
 
+    /**
+     * Convert the remaining bytes of a {@link ByteBuffer} to JSON object without copying them. The position of the
+     * buffer is not changed.
+     *
+     * @param data Data in byte buffer format.
+     * @return Gson {@link JsonObject}
+     * @throws ConversionException
+     */
+    public JsonObject convert(ByteBuffer data) throws ConversionException {
+        if (data.hasArray()) {
+            return convert(new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(),
+                    data.remaining()));
+        }
+        return convert(new ByteBufferInputStream(data.duplicate()));
+    }
+
     /**
      * Convert data from {@link InputStream} to JSON object.
      *
@@ -236,4 +255,38 @@ public class Bin2Json {
         }
         return jsn;
     }
+
+    /**
+     * {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}, e.g. a direct buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link Bin2Json} conversion of byte buffers.
+ *
+ * @author agent - Initial contribution
+ */
+public class Bin2JsonTest {
+
+    private static final String RULE = "byte a; byte b; ubyte c;";
+    private static final String JSON = "{\"a\":3,\"b\":-6,\"c\":255}";
+    private static final byte[] DATA = { 0x03, (byte) 0xFA, (byte) 0xFF };
+
+    private Bin2Json bin2Json;
+
+    @BeforeEach
+    public void init() throws ConversionException {
+        bin2Json = new Bin2Json(RULE);
+    }
+
+    @Test
+    public void testConvertHexString() throws ConversionException {
+        assertEquals(JSON, bin2Json.convert("03FAFF").toString());
+    }
+
+    @Test
+    public void testConvertHeapBuffer() throws ConversionException {
+        ByteBuffer buffer = ByteBuffer.wrap(DATA);
+
+        assertEquals(JSON, bin2Json.convert(buffer).toString());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testConvertHeapBufferWithOffsetAndPosition() throws ConversionException {
+        byte[] array = { 0x7F, 0x11, 0x03, (byte) 0xFA, (byte) 0xFF };
+        ByteBuffer buffer = ByteBuffer.wrap(array, 1, 4).slice();
+        buffer.position(1);
+        assertEquals(1, buffer.arrayOffset());
+
+        assertEquals(JSON, bin2Json.convert(buffer).toString());
+        assertEquals(1, buffer.position());
+        assertEquals(3, buffer.remaining());
+    }
+
+    @Test
+    public void testConvertDirectBuffer() throws ConversionException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        buffer.put((byte) 0x11).put(DATA).flip();
+        buffer.position(1);
+        assertFalse(buffer.hasArray());
+
+        assertEquals(JSON, bin2Json.convert(buffer).toString());
+        assertEquals(1, buffer.position());
+        assertEquals(3, buffer.remaining());
+    }
+
+    @Test
+    public void testConvertReadOnlyBuffer() throws ConversionException {
+        ByteBuffer buffer = ByteBuffer.wrap(DATA).asReadOnlyBuffer();
+        assertFalse(buffer.hasArray());
+
+        assertEquals(JSON, bin2Json.convert(buffer).toString());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testConvertTooShortBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(DATA, 0, 2);
+
+        assertThrows(ConversionException.class, () -> bin2Json.convert(buffer));
+    }
+}
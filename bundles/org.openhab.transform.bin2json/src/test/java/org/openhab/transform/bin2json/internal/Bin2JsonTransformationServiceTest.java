@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the {@link Bin2JsonTransformationService} and its cache of compiled parser rules.
+ *
+ * @author agent - Initial contribution
+ */
+public class Bin2JsonTransformationServiceTest {
+
+    private Bin2JsonTransformationService service;
+
+    @BeforeEach
+    public void init() {
+        service = new Bin2JsonTransformationService();
+    }
+
+    @Test
+    public void testTransform() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", service.transform("byte a; byte b; ubyte c;", "03FAFF"));
+        assertThrows(TransformationException.class, () -> service.transform("byte a; byte b; ubyte c;", "03"));
+    }
+
+    @Test
+    public void testParserIsReused() throws ConversionException {
+        Bin2Json parser = service.getParser("byte a;");
+
+        assertSame(parser, service.getParser("byte a;"));
+        assertNotSame(parser, service.getParser("ubyte a;"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedParserIsEvicted() throws ConversionException {
+        Bin2Json first = service.getParser("byte a;");
+        Bin2Json second = service.getParser("byte b;");
+        for (int i = 2; i < Bin2JsonTransformationService.MAX_PARSER_CACHE_SIZE; i++) {
+            service.getParser("byte f" + i + ";");
+        }
+        // the cache is full, using the first parser makes the second one the least recently used
+        assertSame(first, service.getParser("byte a;"));
+
+        service.getParser("byte c;");
+
+        assertSame(first, service.getParser("byte a;"));
+        assertNotSame(second, service.getParser("byte b;"));
+    }
+}
@@ -13,6 +13,8 @@
 package org.openhab.transform.exec.internal;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -21,6 +23,8 @@ import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,22 +37,75 @@ import org.slf4j.LoggerFactory;
  * @author Jan N. Klug - added command whitelist service
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=EXEC" })
+@Component(configurationPid = "org.openhab.exec", property = { "openhab.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
+    /** prefix of command lines that are executed by long-lived worker processes */
+    static final String WORKER_PREFIX = "worker:";
+
+    private static final String CONFIG_WORKER_POOL_SIZE = "workerPoolSize";
+    private static final String CONFIG_WORKER_TIMEOUT = "workerTimeout";
+    private static final String CONFIG_WORKER_MAX_RESTARTS = "workerMaxRestarts";
+
+    private static final int DEFAULT_WORKER_POOL_SIZE = 1;
+    private static final int DEFAULT_WORKER_TIMEOUT = 5000;
+    private static final int DEFAULT_WORKER_MAX_RESTARTS = 3;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
+    private final Map<String, ExecWorkerPool> workerPools = new ConcurrentHashMap<>();
+    private final Runnable whitelistListener = this::stopRemovedWorkers;
+
+    private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+    private Duration workerTimeout = Duration.ofMillis(DEFAULT_WORKER_TIMEOUT);
+    private int workerMaxRestarts = DEFAULT_WORKER_MAX_RESTARTS;
 
     @Activate
     public ExecTransformationService(
-            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService) {
+            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService,
+            Map<String, Object> config) {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
+        modified(config);
+        execTransformationWhitelistWatchService.addListener(whitelistListener);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        workerPoolSize = Math.max(1, getIntConfig(config, CONFIG_WORKER_POOL_SIZE, DEFAULT_WORKER_POOL_SIZE));
+        workerTimeout = Duration
+                .ofMillis(Math.max(1, getIntConfig(config, CONFIG_WORKER_TIMEOUT, DEFAULT_WORKER_TIMEOUT)));
+        workerMaxRestarts = Math.max(1,
+                getIntConfig(config, CONFIG_WORKER_MAX_RESTARTS, DEFAULT_WORKER_MAX_RESTARTS));
+        logger.debug("Worker configuration: pool size {}, timeout {} ms, max restarts {}", workerPoolSize,
+                workerTimeout.toMillis(), workerMaxRestarts);
+        // restart the workers with the new configuration
+        stopWorkers();
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        execTransformationWhitelistWatchService.removeListener(whitelistListener);
+        stopWorkers();
+    }
+
+    private int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value == null || value.toString().isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for parameter '{}', using default {}", value, key, defaultValue);
+            return defaultValue;
+        }
     }
 
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string, which will be replaced by the
-     *            input data.
+     *            input data. If the command line starts with {@link #WORKER_PREFIX}, the remaining command is started
+     *            once and the input data is passed to it line by line, see {@link ExecWorker}.
      * @param source the input to transform
      */
     @Override
@@ -57,14 +114,23 @@ public class ExecTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'commandLine' and 'source' must not be null");
         }
 
-        if (!execTransformationWhitelistWatchService.isWhitelisted(commandLine)) {
-            logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
+        boolean worker = commandLine.startsWith(WORKER_PREFIX);
+        String command = worker ? commandLine.substring(WORKER_PREFIX.length()).trim() : commandLine;
+        if (!execTransformationWhitelistWatchService.isWhitelisted(command)) {
+            logger.warn("Tried to execute '{}', but it is not contained in whitelist.", command);
             return null;
         }
         logger.debug("about to transform '{}' by the commandline '{}'", source, commandLine);
 
         long startTime = System.currentTimeMillis();
 
+        if (worker) {
+            String result = workerPools.computeIfAbsent(command,
+                    c -> new ExecWorkerPool(c, workerPoolSize, workerTimeout, workerMaxRestarts)).transform(source);
+            logger.trace("worker execution elapsed {} ms", System.currentTimeMillis() - startTime);
+            return result;
+        }
+
         String formattedCommandLine = String.format(commandLine, source);
         String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(5),
                 formattedCommandLine.split(" "));
@@ -72,4 +138,20 @@ public class ExecTransformationService implements TransformationService {
 
         return result;
     }
+
+    private void stopRemovedWorkers() {
+        workerPools.entrySet().removeIf(entry -> {
+            if (execTransformationWhitelistWatchService.isWhitelisted(entry.getKey())) {
+                return false;
+            }
+            logger.debug("Stopping workers of '{}' as it has been removed from the whitelist", entry.getKey());
+            entry.getValue().stop();
+            return true;
+        });
+    }
+
+    private void stopWorkers() {
+        workerPools.values().forEach(ExecWorkerPool::stop);
+        workerPools.clear();
+    }
 }
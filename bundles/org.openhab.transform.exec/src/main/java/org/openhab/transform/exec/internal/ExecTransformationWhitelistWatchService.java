@@ -22,7 +22,9 @@ import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -46,6 +48,7 @@ public class ExecTransformationWhitelistWatchService extends AbstractWatchServic
 
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationWhitelistWatchService.class);
     private final Set<String> commandWhitelist = new HashSet<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
 
     @Activate
     public ExecTransformationWhitelistWatchService() {
@@ -73,9 +76,28 @@ public class ExecTransformationWhitelistWatchService extends AbstractWatchServic
             } catch (IOException e) {
                 logger.warn("Cannot read whitelist file, exec transformations won't be processed: {}", e.getMessage());
             }
+            listeners.forEach(Runnable::run);
         }
     }
 
+    /**
+     * Add a listener that is called whenever the whitelist has been reloaded
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener added by {@link #addListener(Runnable)}
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Check if a command is whitelisted
      *
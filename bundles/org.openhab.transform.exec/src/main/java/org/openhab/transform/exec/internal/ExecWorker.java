@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived process that transforms values line by line.
+ *
+ * Every request is written as one line to the standard input of the process, which has to answer with exactly one line
+ * on its standard output. Backslashes, line feeds and carriage returns in requests and responses are escaped as
+ * {@code \\}, {@code \n} and {@code \r}, so every value fits on one line.
+ *
+ * A worker must only be used by one thread at a time.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecWorker {
+
+    private static final NamedThreadFactory READER_THREAD_FACTORY = new NamedThreadFactory("transform-exec-worker",
+            true);
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorker.class);
+
+    private final String commandLine;
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+
+    /**
+     * Start a worker process
+     *
+     * @param commandLine the command line of the process, arguments separated by spaces
+     * @throws IOException if the process could not be started
+     */
+    public ExecWorker(String commandLine) throws IOException {
+        this.commandLine = commandLine;
+        process = new ProcessBuilder(commandLine.split(" ")).redirectError(Redirect.DISCARD).start();
+        writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        Thread readerThread = READER_THREAD_FACTORY.newThread(this::readResponses);
+        readerThread.start();
+        logger.debug("Started worker process '{}' read by thread {}", commandLine, readerThread.getName());
+    }
+
+    private void readResponses() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                responses.add(line);
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to read from worker process '{}': {}", commandLine, e.getMessage());
+        }
+        logger.debug("Worker process '{}' closed its output", commandLine);
+    }
+
+    /**
+     * Send a value to the process and wait for its response
+     *
+     * @param input the value to transform
+     * @param timeout maximum time to wait for the response
+     * @return the response of the process
+     * @throws IOException if the process is not running or did not respond in time
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    public String process(String input, Duration timeout) throws IOException, InterruptedException {
+        if (!process.isAlive()) {
+            throw new IOException("Worker process has terminated with exit code " + process.exitValue());
+        }
+        writer.write(escape(input));
+        writer.newLine();
+        writer.flush();
+
+        String response = responses.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (response == null) {
+            throw new IOException(process.isAlive() ? "Worker process did not respond within " + timeout.toMillis()
+                    + " ms" : "Worker process has terminated with exit code " + process.exitValue());
+        }
+        return unescape(response);
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Terminate the process
+     */
+    public void stop() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // the process might have terminated already
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        logger.debug("Stopped worker process '{}'", commandLine);
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                unescaped.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of {@link ExecWorker}s running the same command.
+ *
+ * Workers are started on demand up to the pool size. A worker that fails or does not respond in time is stopped and
+ * replaced on the next request. After {@code maxRestarts} consecutive failures the command is not started again
+ * before {@link #RESTART_BACKOFF} has passed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecWorkerPool {
+
+    static final Duration RESTART_BACKOFF = Duration.ofMinutes(1);
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorkerPool.class);
+
+    private final String commandLine;
+    private final int poolSize;
+    private final Duration timeout;
+    private final int maxRestarts;
+
+    private final BlockingQueue<ExecWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private final List<ExecWorker> workers = new ArrayList<>();
+    private int consecutiveFailures;
+    private long backoffUntil;
+    private boolean stopped;
+
+    public ExecWorkerPool(String commandLine, int poolSize, Duration timeout, int maxRestarts) {
+        this.commandLine = commandLine;
+        this.poolSize = poolSize;
+        this.timeout = timeout;
+        this.maxRestarts = maxRestarts;
+    }
+
+    /**
+     * Transform a value with one of the workers
+     *
+     * @param input the value to transform
+     * @return the response of the worker
+     * @throws TransformationException if no worker could be started or the worker failed
+     */
+    public String transform(String input) throws TransformationException {
+        ExecWorker worker = acquireWorker();
+        try {
+            String result = worker.process(input, timeout);
+            releaseWorker(worker);
+            return result;
+        } catch (IOException e) {
+            discardWorker(worker);
+            throw new TransformationException(
+                    "Worker '" + commandLine + "' failed to transform '" + input + "': " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            discardWorker(worker);
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for worker '" + commandLine + "'", e);
+        }
+    }
+
+    private ExecWorker acquireWorker() throws TransformationException {
+        ExecWorker worker = idleWorkers.poll();
+        if (worker != null) {
+            return worker;
+        }
+        synchronized (this) {
+            if (stopped) {
+                throw new TransformationException("Worker pool for '" + commandLine + "' has been stopped");
+            }
+            if (workers.size() < poolSize) {
+                return startWorker();
+            }
+        }
+        try {
+            worker = idleWorkers.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for worker '" + commandLine + "'", e);
+        }
+        if (worker == null) {
+            throw new TransformationException("No worker for '" + commandLine + "' available within "
+                    + timeout.toMillis() + " ms");
+        }
+        return worker;
+    }
+
+    private ExecWorker startWorker() throws TransformationException {
+        if (consecutiveFailures >= maxRestarts) {
+            if (System.currentTimeMillis() < backoffUntil) {
+                throw new TransformationException("Worker '" + commandLine + "' failed " + consecutiveFailures
+                        + " times, not restarting it before " + RESTART_BACKOFF.toSeconds() + " s have passed");
+            }
+            consecutiveFailures = 0;
+        }
+        try {
+            ExecWorker worker = new ExecWorker(commandLine);
+            workers.add(worker);
+            return worker;
+        } catch (IOException e) {
+            recordFailure();
+            throw new TransformationException("Failed to start worker '" + commandLine + "': " + e.getMessage(), e);
+        }
+    }
+
+    private void releaseWorker(ExecWorker worker) {
+        synchronized (this) {
+            consecutiveFailures = 0;
+            if (!stopped) {
+                idleWorkers.add(worker);
+                return;
+            }
+            workers.remove(worker);
+        }
+        worker.stop();
+    }
+
+    private void discardWorker(ExecWorker worker) {
+        synchronized (this) {
+            workers.remove(worker);
+            recordFailure();
+        }
+        worker.stop();
+    }
+
+    private void recordFailure() {
+        consecutiveFailures++;
+        if (consecutiveFailures >= maxRestarts) {
+            backoffUntil = System.currentTimeMillis() + RESTART_BACKOFF.toMillis();
+            logger.warn("Worker '{}' failed {} times in a row, not restarting it for {} s", commandLine,
+                    consecutiveFailures, RESTART_BACKOFF.toSeconds());
+        }
+    }
+
+    /**
+     * Stop all workers. Workers that are busy are stopped as soon as they have finished.
+     */
+    public void stop() {
+        List<ExecWorker> workersToStop;
+        synchronized (this) {
+            stopped = true;
+            workersToStop = new ArrayList<>();
+            idleWorkers.drainTo(workersToStop);
+            workers.removeAll(workersToStop);
+        }
+        workersToStop.forEach(ExecWorker::stop);
+    }
+}
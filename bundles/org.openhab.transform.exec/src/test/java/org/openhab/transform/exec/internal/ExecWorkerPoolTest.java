@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the {@link ExecWorkerPool} with {@code cat} as worker, which answers every line with the line itself.
+ *
+ * @author agent - Initial contribution
+ */
+@DisabledOnOs(OS.WINDOWS)
+public class ExecWorkerPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    public void testTransform() throws TransformationException {
+        ExecWorkerPool pool = new ExecWorkerPool("cat", 2, TIMEOUT, 3);
+        try {
+            assertEquals("value", pool.transform("value"));
+            assertEquals("line 1\nline 2\\", pool.transform("line 1\nline 2\\"));
+            assertEquals("", pool.transform(""));
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    public void testBackoffAfterFailedStarts() {
+        ExecWorkerPool pool = new ExecWorkerPool("/nonexistent/worker", 1, TIMEOUT, 2);
+        try {
+            assertStartFailed(pool);
+            assertStartFailed(pool);
+            TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("value"));
+            assertTrue(e.getMessage().contains("not restarting"), e.getMessage());
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    public void testBackoffAfterTimeouts() {
+        ExecWorkerPool pool = new ExecWorkerPool("sleep 10", 1, Duration.ofMillis(200), 2);
+        try {
+            assertTimedOut(pool);
+            // the timed out worker has been discarded, so a new one is started
+            assertTimedOut(pool);
+            TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("value"));
+            assertTrue(e.getMessage().contains("not restarting"), e.getMessage());
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    public void testStoppedPool() {
+        ExecWorkerPool pool = new ExecWorkerPool("cat", 1, TIMEOUT, 1);
+        pool.stop();
+        TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("value"));
+        assertTrue(e.getMessage().contains("stopped"), e.getMessage());
+    }
+
+    private void assertStartFailed(ExecWorkerPool pool) {
+        TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("value"));
+        assertTrue(e.getMessage().startsWith("Failed to start worker"), e.getMessage());
+    }
+
+    private void assertTimedOut(ExecWorkerPool pool) {
+        TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("value"));
+        assertTrue(e.getMessage().contains("did not respond"), e.getMessage());
+    }
+}
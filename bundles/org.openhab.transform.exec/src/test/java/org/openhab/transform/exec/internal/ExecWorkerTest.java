@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the escaping of the line based protocol of {@link ExecWorker}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ExecWorkerTest {
+
+    @Test
+    public void testEscape() {
+        assertEquals("plain", ExecWorker.escape("plain"));
+        assertEquals("a\\nb\\rc", ExecWorker.escape("a\nb\rc"));
+        assertEquals("C:\\\\temp\\\\", ExecWorker.escape("C:\\temp\\"));
+    }
+
+    @Test
+    public void testUnescape() {
+        assertEquals("plain", ExecWorker.unescape("plain"));
+        assertEquals("a\nb\rc", ExecWorker.unescape("a\\nb\\rc"));
+        assertEquals("C:\\temp\\", ExecWorker.unescape("C:\\\\temp\\\\"));
+        // a single trailing backslash is not an escape sequence and is kept
+        assertEquals("end\\", ExecWorker.unescape("end\\"));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (String value : new String[] { "", "plain", "\n", "\r\n", "\\", "trailing\\", "\\n", "a\\\nb",
+                "line 1\nline 2\r\nline 3\\" }) {
+            String escaped = ExecWorker.escape(value);
+            assertFalse(escaped.contains("\n") || escaped.contains("\r"), escaped);
+            assertEquals(value, ExecWorker.unescape(escaped));
+        }
+    }
+}
@@ -13,13 +13,29 @@
 package org.openhab.transform.javascript.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
@@ -27,13 +43,20 @@ import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Simple cache for compiled JavaScript files.
+ * Pool of JavaScript engines with a cache of compiled JavaScript files.
+ *
+ * A compiled script is bound to the engine that compiled it, so every engine of the pool keeps its own compiled
+ * scripts. The sources of the scripts are shared by all engines. At most one engine per available processor is
+ * created, so transformations of different bindings can run in parallel. Scripts are precompiled on one engine after
+ * the other, engines that are busy at that time compile the scripts when they execute them.
  *
  * @author Thomas Kordelle - Initial contribution
  * @author Thomas Kordelle - pre compiled scripts
@@ -42,40 +65,163 @@ import org.slf4j.LoggerFactory;
 @Component(service = JavaScriptEngineManager.class)
 public class JavaScriptEngineManager {
 
+    private static final String SCRIPT_EXTENSION = ".js";
+
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
-    private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+
+    private final Path transformFolder;
+    private final int poolSize;
+    private final Supplier<@Nullable ScriptEngine> engineFactory;
+    private final AtomicInteger contextCount = new AtomicInteger();
+    private final BlockingQueue<EngineContext> idleContexts = new LinkedBlockingQueue<>();
+
+    private final Map<String, ScriptSource> sources = new ConcurrentHashMap<>();
+    private final Map<String, ScriptMetrics> metrics = new ConcurrentHashMap<>();
+
+    public JavaScriptEngineManager() {
+        this(Paths.get(TransformationScriptWatcher.TRANSFORM_FOLDER), Runtime.getRuntime().availableProcessors(),
+                createEngineFactory());
+    }
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
+     * Create a pool of engines.
      *
-     * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
-     * @throws TransformationException if compile of JavaScript failed
+     * @param transformFolder the folder containing the JavaScript files
+     * @param poolSize maximum number of engines
+     * @param engineFactory creates the engines, returns null if no JavaScript engine is available
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            CompiledScript compiledScript = compiledScriptMap.get(filename);
-            if (compiledScript != null) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScript;
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
+    JavaScriptEngineManager(Path transformFolder, int poolSize, Supplier<@Nullable ScriptEngine> engineFactory) {
+        this.transformFolder = transformFolder;
+        this.poolSize = poolSize;
+        this.engineFactory = engineFactory;
+    }
+
+    private static Supplier<@Nullable ScriptEngine> createEngineFactory() {
+        final ScriptEngineManager manager = new ScriptEngineManager();
+        return () -> manager.getEngineByName("javascript");
+    }
+
+    @Deactivate
+    public void deactivate() {
+        idleContexts.clear();
+        sources.clear();
+        metrics.clear();
+    }
+
+    /**
+     * Execute a JavaScript file on one of the pooled engines. If the script has not been compiled by that engine yet,
+     * it is loaded from the cache or from storage and compiled first.
+     *
+     * @param filename name of the JavaScript file to execute
+     * @param input value of the 'input' variable of the script
+     * @return the result of the script
+     * @throws TransformationException if the JavaScript could not be loaded, compiled or executed
+     */
+    protected String execute(final String filename, final String input) throws TransformationException {
+        final ScriptSource source = getSource(filename);
+        final EngineContext context = acquireContext();
+        try {
+            final CompiledScript compiledScript = context.getScript(source);
+            final Bindings bindings = context.engine.createBindings();
+            bindings.put("input", input);
+            final long startTime = System.nanoTime();
+            try {
+                return String.valueOf(compiledScript.eval(bindings));
+            } finally {
+                metrics.computeIfAbsent(filename, f -> new ScriptMetrics()).record(System.nanoTime() - startTime);
+            }
+        } catch (ScriptException e) {
+            throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
+        } finally {
+            idleContexts.offer(context);
+        }
+    }
+
+    /**
+     * Load and compile all JavaScript files of the transformation folder and its subfolders, so the first
+     * transformations do not have to wait for it. The scripts are compiled on one engine of the pool after the other,
+     * see {@link #precompile(List)}.
+     */
+    protected void precompileScripts() {
+        if (!Files.isDirectory(transformFolder)) {
+            return;
+        }
+        final List<String> filenames;
+        try (Stream<Path> paths = Files.walk(transformFolder)) {
+            filenames = paths.filter(p -> p.toString().toLowerCase().endsWith(SCRIPT_EXTENSION))
+                    .filter(Files::isRegularFile).map(p -> toFilename(transformFolder.relativize(p)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Failed to list JavaScript files in {}: {}", transformFolder, e.getMessage());
+            return;
+        }
+        final List<ScriptSource> scriptSources = new ArrayList<>(filenames.size());
+        for (String filename : filenames) {
+            try {
+                scriptSources.add(getSource(filename));
+            } catch (TransformationException e) {
+                logger.warn("Failed to precompile JavaScript {}: {}", filename, e.getMessage());
+            }
+        }
+        final int engines = precompile(scriptSources);
+        logger.debug("Precompiled {} JavaScript files on {} engines.", scriptSources.size(), engines);
+    }
+
+    /**
+     * Load and compile a JavaScript file, so the next transformations do not have to wait for it. The script is
+     * compiled on one engine of the pool after the other, see {@link #precompile(List)}.
+     *
+     * @param filename name of the JavaScript file relative to the transformation folder, with '/' as separator
+     */
+    protected void precompileScript(final String filename) {
+        try {
+            precompile(List.of(getSource(filename)));
+        } catch (TransformationException e) {
+            logger.warn("Failed to precompile JavaScript {}: {}", filename, e.getMessage());
+        }
+    }
+
+    /**
+     * Compile scripts on the engines of the pool. The engines are taken from the pool one at a time and given back as
+     * soon as they have compiled the scripts, so transformations can use the other engines in the meantime. Engines
+     * that are busy are skipped, they compile the scripts when they execute them.
+     *
+     * @param scriptSources the scripts to compile
+     * @return number of engines that have compiled the scripts
+     */
+    private int precompile(final List<ScriptSource> scriptSources) {
+        final Set<EngineContext> compiledContexts = Collections.newSetFromMap(new IdentityHashMap<>());
+        // an engine might be taken again before the others, so try some more times than there are engines
+        for (int i = 0; i < 2 * poolSize && compiledContexts.size() < poolSize; i++) {
+            final EngineContext context = pollOrCreateContext();
+            if (context == null) {
+                break;
+            }
+            try {
+                if (compiledContexts.add(context)) {
+                    for (ScriptSource source : scriptSources) {
+                        try {
+                            context.getScript(source);
+                        } catch (TransformationException e) {
+                            logger.debug("Failed to precompile JavaScript {}: {}", source.filename, e.getMessage());
+                        }
+                    }
                 }
+            } finally {
+                idleContexts.offer(context);
             }
         }
+        return compiledContexts.size();
+    }
+
+    /**
+     * Get the name of a JavaScript file as it is used in transformations.
+     *
+     * @param relativePath path of the file relative to the transformation folder
+     * @return the path with '/' as separator on every platform
+     */
+    protected static String toFilename(final Path relativePath) {
+        return relativePath.toString().replace(File.separatorChar, '/');
     }
 
     /**
@@ -85,6 +231,159 @@ public class JavaScriptEngineManager {
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        sources.remove(fileName);
+        metrics.remove(fileName);
+    }
+
+    /**
+     * Get the execution time metrics of a JavaScript file.
+     *
+     * @param filename name of the JavaScript file
+     * @return the metrics or null if the script has not been executed yet
+     */
+    protected @Nullable ScriptMetrics getMetrics(final String filename) {
+        return metrics.get(filename);
+    }
+
+    private ScriptSource getSource(final String filename) throws TransformationException {
+        final ScriptSource source = sources.get(filename);
+        if (source != null) {
+            logger.debug("Loading JavaScript {} from cache.", filename);
+            return source;
+        }
+        final Path path = transformFolder.resolve(filename);
+        logger.debug("Loading script {} from storage ", path);
+        try {
+            final ScriptSource newSource = new ScriptSource(filename,
+                    new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            final ScriptSource existingSource = sources.putIfAbsent(filename, newSource);
+            return existingSource != null ? existingSource : newSource;
+        } catch (IOException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create a new engine if the pool is not complete yet, otherwise take an idle engine. Does not wait for an engine.
+     *
+     * @return the engine or null if all engines are busy
+     */
+    private @Nullable EngineContext pollOrCreateContext() {
+        if (contextCount.incrementAndGet() <= poolSize) {
+            final ScriptEngine engine = engineFactory.get();
+            if (engine != null) {
+                logger.debug("Created JavaScript engine {} of {}.", contextCount.get(), poolSize);
+                return new EngineContext(engine);
+            }
+        }
+        contextCount.decrementAndGet();
+        return idleContexts.poll();
+    }
+
+    /**
+     * @return number of compiled scripts of all idle engines
+     */
+    int getCompiledScriptCount() {
+        return idleContexts.stream().mapToInt(context -> context.compiledScripts.size()).sum();
+    }
+
+    private EngineContext acquireContext() throws TransformationException {
+        final EngineContext context = idleContexts.poll();
+        if (context != null) {
+            return context;
+        }
+        if (contextCount.incrementAndGet() <= poolSize) {
+            final ScriptEngine engine = engineFactory.get();
+            if (engine != null) {
+                logger.debug("Created JavaScript engine {} of {}.", contextCount.get(), poolSize);
+                return new EngineContext(engine);
+            }
+            contextCount.decrementAndGet();
+            throw new TransformationException("No JavaScript engine available.");
+        }
+        contextCount.decrementAndGet();
+        try {
+            return idleContexts.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for a JavaScript engine.", e);
+        }
+    }
+
+    /**
+     * Content of a JavaScript file. A new instance is created whenever the file is reloaded, so engines can detect
+     * that their compiled version is outdated.
+     */
+    private static class ScriptSource {
+        private final String filename;
+        private final String content;
+
+        private ScriptSource(String filename, String content) {
+            this.filename = filename;
+            this.content = content;
+        }
+    }
+
+    /**
+     * An engine of the pool and the scripts compiled by it. Only used by one thread at a time.
+     */
+    private class EngineContext {
+        private final ScriptEngine engine;
+        private final Map<String, CompiledScript> compiledScripts = new HashMap<>();
+        private final Map<String, ScriptSource> compiledSources = new HashMap<>();
+
+        private EngineContext(ScriptEngine engine) {
+            this.engine = engine;
+        }
+
+        private CompiledScript getScript(ScriptSource source) throws TransformationException {
+            final CompiledScript compiledScript = compiledScripts.get(source.filename);
+            if (compiledScript != null && compiledSources.get(source.filename) == source) {
+                return compiledScript;
+            }
+            try {
+                final CompiledScript cScript = ((Compilable) engine).compile(source.content);
+                logger.debug("Putting compiled JavaScript {} to cache.", cScript);
+                compiledScripts.put(source.filename, cScript);
+                compiledSources.put(source.filename, source);
+                return cScript;
+            } catch (ScriptException e) {
+                throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Execution time statistics of a JavaScript file.
+     */
+    protected static class ScriptMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getAverageMillis() {
+            final long executions = count.sum();
+            return executions == 0 ? 0 : totalNanos.sum() / 1e6 / executions;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d executions, average %.3f ms, max %.3f ms", getCount(), getAverageMillis(),
+                    getMaxMillis());
+        }
     }
 }
@@ -16,10 +16,12 @@ import static java.nio.file.StandardWatchEventKinds.*;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
 
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.service.AbstractWatchService;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
@@ -28,7 +30,8 @@ import org.osgi.service.component.annotations.Reference;
 
 /**
  * The {@link TransformationScriptWatcher} watches the transformation directory for files. If a deleted/modified file is
- * detected, the script is passed to the {@link JavaScriptEngineManager}.
+ * detected, the script is passed to the {@link JavaScriptEngineManager}. All scripts are precompiled in the background
+ * when the watcher is activated and modified scripts are precompiled again.
  *
  * @author Thomas Kordelle - Initial contribution
  * @author Thomas Kordelle - pre compiled scripts
@@ -39,6 +42,8 @@ public class TransformationScriptWatcher extends AbstractWatchService {
     public static final String TRANSFORM_FOLDER = OpenHAB.getConfigFolder() + File.separator
             + TransformationService.TRANSFORM_FOLDER_NAME;
 
+    private static final String THREAD_POOL_NAME = "transformation";
+
     private final JavaScriptEngineManager manager;
 
     @Activate
@@ -50,6 +55,7 @@ public class TransformationScriptWatcher extends AbstractWatchService {
     @Override
     public void activate() {
         super.activate();
+        ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(manager::precompileScripts);
     }
 
     @Override
@@ -59,10 +65,9 @@ public class TransformationScriptWatcher extends AbstractWatchService {
 
     @Override
     protected Kind<?>[] getWatchEventKinds(Path directory) {
-        return new Kind<?>[] { ENTRY_DELETE, ENTRY_MODIFY };
+        return new Kind<?>[] { ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY };
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
         logger.debug("New watch event {} for path {}.", kind, path);
@@ -71,11 +76,14 @@ public class TransformationScriptWatcher extends AbstractWatchService {
             return;
         }
 
-        final WatchEvent<Path> ev = (WatchEvent<Path>) event;
-        final Path filename = ev.context();
+        final String filename = JavaScriptEngineManager
+                .toFilename(Paths.get(TRANSFORM_FOLDER).toAbsolutePath().relativize(path.toAbsolutePath()));
 
         logger.debug("Reloading javascript file {}.", filename);
 
-        manager.removeFromCache(filename.toString());
+        manager.removeFromCache(filename);
+        if (kind != ENTRY_DELETE && filename.toLowerCase().endsWith(".js")) {
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(() -> manager.precompileScript(filename));
+        }
     }
 }
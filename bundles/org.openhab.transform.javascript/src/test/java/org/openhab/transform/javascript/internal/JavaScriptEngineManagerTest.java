@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the engine pool of the {@link JavaScriptEngineManager} with engines whose scripts return their source
+ * followed by the input, so the tests do not depend on the JavaScript engine of the JVM.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptEngineManagerTest {
+
+    private final AtomicInteger createdEngines = new AtomicInteger();
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final CountDownLatch blockedCompilation = new CountDownLatch(1);
+    private final CountDownLatch unblockCompilation = new CountDownLatch(1);
+    private volatile int blockingEngine = 0;
+
+    @TempDir
+    Path transformFolder;
+
+    @Test
+    public void testExecute() throws IOException, TransformationException {
+        writeScript("test.js", "test:");
+        JavaScriptEngineManager manager = createManager(2);
+
+        assertEquals("test:1", manager.execute("test.js", "1"));
+        assertEquals("test:2", manager.execute("test.js", "2"));
+        assertEquals(1, createdEngines.get());
+        assertEquals(1, compilations.get());
+        JavaScriptEngineManager.ScriptMetrics metrics = manager.getMetrics("test.js");
+        assertNotNull(metrics);
+        assertEquals(2, metrics.getCount());
+    }
+
+    @Test
+    public void testMissingScript() {
+        JavaScriptEngineManager manager = createManager(2);
+
+        assertThrows(TransformationException.class, () -> manager.execute("missing.js", "1"));
+    }
+
+    @Test
+    public void testPrecompileScriptsOnAllEngines() throws IOException, TransformationException {
+        writeScript("a.js", "a:");
+        writeScript("sub/b.js", "b:");
+        writeScript("readme.txt", "not a script");
+        JavaScriptEngineManager manager = createManager(3);
+
+        manager.precompileScripts();
+
+        assertEquals(3, createdEngines.get());
+        assertEquals(6, compilations.get());
+        assertEquals(6, manager.getCompiledScriptCount());
+        assertEquals("b:1", manager.execute("sub/b.js", "1"));
+        assertEquals(6, compilations.get());
+    }
+
+    @Test
+    public void testPrecompileScriptAfterChange() throws IOException, TransformationException {
+        writeScript("test.js", "old:");
+        JavaScriptEngineManager manager = createManager(2);
+        manager.precompileScripts();
+        assertEquals("old:1", manager.execute("test.js", "1"));
+
+        writeScript("test.js", "new:");
+        manager.removeFromCache("test.js");
+        manager.precompileScript("test.js");
+
+        assertEquals(4, compilations.get());
+        assertEquals("new:1", manager.execute("test.js", "1"));
+        assertEquals(4, compilations.get());
+    }
+
+    @Test
+    public void testTransformationDoesNotWaitForPrecompilation() throws Exception {
+        writeScript("test.js", "test:");
+        JavaScriptEngineManager manager = createManager(2);
+        blockingEngine = 2;
+
+        CompletableFuture<Void> precompilation = CompletableFuture.runAsync(manager::precompileScripts);
+        try {
+            assertTrue(blockedCompilation.await(5, TimeUnit.SECONDS));
+            // the first engine has been returned to the pool while the second one is still compiling
+            assertEquals("test:1", CompletableFuture.supplyAsync(() -> {
+                try {
+                    return manager.execute("test.js", "1");
+                } catch (TransformationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(5, TimeUnit.SECONDS));
+        } finally {
+            unblockCompilation.countDown();
+        }
+        precompilation.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, createdEngines.get());
+        assertEquals(2, manager.getCompiledScriptCount());
+    }
+
+    private JavaScriptEngineManager createManager(int poolSize) {
+        return new JavaScriptEngineManager(transformFolder, poolSize,
+                () -> new EchoScriptEngine(createdEngines.incrementAndGet()));
+    }
+
+    private void writeScript(String filename, String content) throws IOException {
+        Path path = transformFolder.resolve(filename);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Engine whose scripts return their source followed by the input.
+     */
+    private class EchoScriptEngine extends AbstractScriptEngine implements Compilable {
+        private final int number;
+
+        private EchoScriptEngine(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public CompiledScript compile(String script) throws ScriptException {
+            if (number == blockingEngine) {
+                blockedCompilation.countDown();
+                try {
+                    unblockCompilation.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            compilations.incrementAndGet();
+            ScriptEngine engine = this;
+            return new CompiledScript() {
+                @Override
+                public Object eval(ScriptContext context) throws ScriptException {
+                    return script + context.getAttribute("input");
+                }
+
+                @Override
+                public ScriptEngine getEngine() {
+                    return engine;
+                }
+            };
+        }
+
+        @Override
+        public CompiledScript compile(Reader script) throws ScriptException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object eval(String script, ScriptContext context) throws ScriptException {
+            return compile(script).eval(context);
+        }
+
+        @Override
+        public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Bindings createBindings() {
+            return new SimpleBindings();
+        }
+
+        @Override
+        public ScriptEngineFactory getFactory() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -59,4 +59,21 @@ public class JinjaTransformationServiceTest {
         // Asserts
         assertEquals("Hello world!", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplate() throws TransformationException {
+        String template = "{{value_json.a}}-{{value_json.b[1]}}";
+
+        assertEquals("1-y", processor.transform(template, "{\"a\":1,\"b\":[\"x\",\"y\"]}"));
+        assertEquals("2-z", processor.transform(template, "{\"a\":2,\"b\":[\"x\",\"z\"]}"));
+    }
+
+    @Test
+    public void testIterateJson() throws TransformationException {
+        String json = "{\"values\":[{\"v\":1},{\"v\":2},{\"v\":3}],\"other\":{\"x\":\"y\"}}";
+
+        assertEquals("123", processor.transform("{% for e in value_json['values'] %}{{e.v}}{% endfor %}", json));
+        assertEquals("3", processor.transform("{{ value_json['values'] | length }}", json));
+        assertEquals("y", processor.transform("{{ value_json.other.x }}", json));
+    }
 }
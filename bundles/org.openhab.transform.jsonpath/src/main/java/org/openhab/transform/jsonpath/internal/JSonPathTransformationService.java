@@ -12,7 +12,12 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +29,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,8 +47,65 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /** maximum number of compiled JsonPath expressions kept */
+    private static final int MAX_PATH_CACHE_SIZE = 500;
+    /** maximum number of parsed documents kept */
+    private static final int MAX_DOCUMENT_CACHE_SIZE = 8;
+    /** time a parsed document is kept, long enough for all transformations applied to one payload */
+    private static final long DOCUMENT_CACHE_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+            return size() > MAX_PATH_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Parsed documents by source. A source that is transformed again is usually the same String instance, so the
+     * lookup mostly succeeds on the identity check in {@link String#equals(Object)}.
+     */
+    private final Map<String, ParsedDocument> documentCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, ParsedDocument> eldest) {
+            return size() > MAX_DOCUMENT_CACHE_SIZE;
+        }
+    };
+
+    private final LongSupplier nanoTime;
+
+    private final AtomicLong pathCacheHits = new AtomicLong();
+    private final AtomicLong pathCacheMisses = new AtomicLong();
+    private final AtomicLong documentCacheHits = new AtomicLong();
+    private final AtomicLong documentCacheMisses = new AtomicLong();
+
+    private static class ParsedDocument {
+        private final Object document;
+        private final long expiresAt;
+
+        private ParsedDocument(Object document, long expiresAt) {
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public JSonPathTransformationService() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime the clock used for the expiry of parsed documents, in nanoseconds
+     */
+    JSonPathTransformationService(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +123,9 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Configuration configuration = Configuration.defaultConfiguration();
+            JsonPath jsonPath = getJsonPath(jsonPathExpression);
+            Object transformationResult = jsonPath.read(getDocument(source, configuration), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +141,67 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getJsonPath(String jsonPathExpression) {
+        JsonPath jsonPath;
+        synchronized (pathCache) {
+            jsonPath = pathCache.get(jsonPathExpression);
+        }
+        if (jsonPath != null) {
+            pathCacheHits.incrementAndGet();
+            return jsonPath;
+        }
+        pathCacheMisses.incrementAndGet();
+        jsonPath = JsonPath.compile(jsonPathExpression);
+        synchronized (pathCache) {
+            pathCache.put(jsonPathExpression, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    private Object getDocument(String source, Configuration configuration) {
+        ParsedDocument parsed;
+        synchronized (documentCache) {
+            parsed = documentCache.get(source);
+        }
+        if (parsed != null && nanoTime.getAsLong() - parsed.expiresAt < 0) {
+            documentCacheHits.incrementAndGet();
+            return parsed.document;
+        }
+        documentCacheMisses.incrementAndGet();
+        Object document = JsonPath.using(configuration).parse(source).json();
+        long now = nanoTime.getAsLong();
+        synchronized (documentCache) {
+            // expired documents are not read anymore, do not keep them referenced until they are the eldest
+            documentCache.values().removeIf(expired -> now - expired.expiresAt >= 0);
+            documentCache.put(source, new ParsedDocument(document, now + DOCUMENT_CACHE_TTL_NANOS));
+        }
+        logger.trace("JsonPath cache statistics: paths {} hits / {} misses, documents {} hits / {} misses",
+                pathCacheHits, pathCacheMisses, documentCacheHits, documentCacheMisses);
+        return document;
+    }
+
+    long getPathCacheHits() {
+        return pathCacheHits.get();
+    }
+
+    long getPathCacheMisses() {
+        return pathCacheMisses.get();
+    }
+
+    long getDocumentCacheHits() {
+        return documentCacheHits.get();
+    }
+
+    long getDocumentCacheMisses() {
+        return documentCacheMisses.get();
+    }
+
+    int getDocumentCacheSize() {
+        synchronized (documentCache) {
+            return documentCache.size();
+        }
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
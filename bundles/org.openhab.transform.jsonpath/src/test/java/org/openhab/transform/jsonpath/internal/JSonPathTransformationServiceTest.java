@@ -14,6 +14,9 @@ package org.openhab.transform.jsonpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -23,11 +26,12 @@ import org.openhab.core.transform.TransformationException;
  */
 public class JSonPathTransformationServiceTest {
 
+    private final AtomicLong nanoTime = new AtomicLong();
     private JSonPathTransformationService processor;
 
     @BeforeEach
     public void init() {
-        processor = new JSonPathTransformationService();
+        processor = new JSonPathTransformationService(nanoTime::get);
     }
 
     @Test
@@ -127,4 +131,31 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testCachesPathsAndDocuments() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("1", processor.transform("$[0].id", "[{ \"id\":1 }]"));
+
+        assertEquals(1, processor.getPathCacheHits());
+        assertEquals(3, processor.getPathCacheMisses());
+        assertEquals(2, processor.getDocumentCacheHits());
+        assertEquals(2, processor.getDocumentCacheMisses());
+    }
+
+    @Test
+    public void testExpiresDocuments() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals(0, processor.getDocumentCacheHits());
+        assertEquals(2, processor.getDocumentCacheMisses());
+
+        // the expired document is removed when another one is added
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("1", processor.transform("$[0].id", "[{ \"id\":1 }]"));
+        assertEquals(1, processor.getDocumentCacheSize());
+    }
 }
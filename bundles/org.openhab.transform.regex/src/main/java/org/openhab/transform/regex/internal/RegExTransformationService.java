@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,8 +43,60 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /** separator of the groups if all groups are returned */
+    public static final String GROUP_SEPARATOR = ",";
+
+    private static final int MAX_CACHE_SIZE = 500;
+
+    /**
+     * Compiled form of a regular expression as passed to {@link #transform(String, String)}
+     */
+    private static class CompiledExpression {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        /** match form */
+        private CompiledExpression(Pattern pattern) {
+            this.pattern = pattern;
+            this.substitution = null;
+            this.global = false;
+        }
+
+        /** substitution form */
+        private CompiledExpression(Pattern pattern, String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+    }
+
+    private final Map<String, CompiledExpression> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledExpression> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
+        return transform(regExpression, source, false);
+    }
+
+    /**
+     * Transforms the source by the regular expression
+     *
+     * @param regExpression regular expression in match or substitution form
+     * @param source the source to transform
+     * @param allGroups whether the match form returns all groups separated by {@link #GROUP_SEPARATOR} instead of
+     *            only the first group
+     * @return the transformed source or null if the regular expression does not match
+     * @throws TransformationException if the parameters are null
+     */
+    public @Nullable String transform(String regExpression, String source, boolean allGroups)
+            throws TransformationException {
         if (regExpression == null || source == null) {
             throw new TransformationException("the given parameters 'regex' and 'source' must not be null");
         }
@@ -50,23 +105,19 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        CompiledExpression expression = compile(regExpression);
+        String substitution = expression.substitution;
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+            Matcher substMatcher = expression.pattern.matcher(source.trim());
+            if (expression.global) {
+                return substMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
+                return substMatcher.replaceFirst(substitution);
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = expression.pattern.matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -83,6 +134,16 @@ public class RegExTransformationService implements TransformationService {
                 continue;
             }
 
+            if (allGroups) {
+                StringJoiner groups = new StringJoiner(GROUP_SEPARATOR);
+                for (int i = 1; i <= matcher.groupCount(); i++) {
+                    String group = matcher.group(i);
+                    groups.add(group == null ? "" : group);
+                }
+                result = groups.toString();
+                continue;
+            }
+
             result = matcher.group(1);
 
             if (matcher.groupCount() > 1) {
@@ -94,4 +155,27 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * Returns the compiled form of the regular expression, compiling it only if it is not cached
+     */
+    private CompiledExpression compile(String regExpression) {
+        CompiledExpression expression;
+        synchronized (cache) {
+            expression = cache.get(regExpression);
+        }
+        if (expression == null) {
+            Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+            if (substMatcher.matches()) {
+                expression = new CompiledExpression(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                        substMatcher.group(3).equals("g"));
+            } else {
+                expression = new CompiledExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL));
+            }
+            synchronized (cache) {
+                cache.put(regExpression, expression);
+            }
+        }
+        return expression;
+    }
 }
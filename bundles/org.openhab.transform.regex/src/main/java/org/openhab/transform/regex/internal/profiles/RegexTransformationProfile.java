@@ -24,6 +24,7 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.Type;
+import org.openhab.transform.regex.internal.RegExTransformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +47,7 @@ public class RegexTransformationProfile implements StateProfile {
 
     private static final String FUNCTION_PARAM = "function";
     private static final String SOURCE_FORMAT_PARAM = "sourceFormat";
+    private static final String ALL_GROUPS_PARAM = "allGroups";
 
     @NonNullByDefault({})
     private final String function;
@@ -53,9 +55,18 @@ public class RegexTransformationProfile implements StateProfile {
     private final String sourceFormat;
 
     public RegexTransformationProfile(ProfileCallback callback, ProfileContext context, TransformationService service) {
-        this.service = service;
         this.callback = callback;
 
+        Object paramAllGroups = context.getConfiguration().get(ALL_GROUPS_PARAM);
+        boolean allGroups = paramAllGroups instanceof Boolean ? (Boolean) paramAllGroups
+                : Boolean.parseBoolean(String.valueOf(paramAllGroups));
+        if (allGroups && service instanceof RegExTransformationService) {
+            RegExTransformationService regexService = (RegExTransformationService) service;
+            this.service = (function, source) -> regexService.transform(function, source, true);
+        } else {
+            this.service = service;
+        }
+
         Object paramFunction = context.getConfiguration().get(FUNCTION_PARAM);
         Object paramSource = context.getConfiguration().get(SOURCE_FORMAT_PARAM);
 
@@ -75,4 +75,21 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_allGroups() throws TransformationException {
+        // method under test
+        String transformedResponse = processor.transform("OP:(.*?),ARG:(.*?)(,OPT:.*)?", "OP:SetMode,ARG:42", true);
+
+        // Asserts
+        assertEquals("SetMode,42,", transformedResponse);
+    }
+
+    @Test
+    public void testTransformByRegex_cachedExpression() throws TransformationException {
+        assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        assertEquals("Reset(0)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:Reset,ARG:0"));
+        assertEquals("42", processor.transform("OP:.*?,ARG:(.*)", "OP:SetMode,ARG:42"));
+        assertEquals("0", processor.transform("OP:.*?,ARG:(.*)", "OP:Reset,ARG:0"));
+    }
 }
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Compiled content of a scale file.
+ *
+ * The limits of all ranges split the numbers into elementary segments: the limits themselves and the open intervals
+ * between them. Every number in a segment is contained in the same ranges, so the label of the first matching range
+ * (in the order of the file) is computed once per segment. A value is then looked up with a binary search over the
+ * sorted limits.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScaleDefinition {
+
+    static final String FORMAT_VALUE = "%value%";
+    static final String FORMAT_LABEL = "%label%";
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** sorted distinct limits of all ranges */
+    private final BigDecimal[] limits;
+    /**
+     * labels of the segments: index 2i is the open interval below limits[i], index 2i+1 is limits[i] and the last
+     * index is the open interval above the last limit. null if no range matches the segment.
+     */
+    private final @Nullable String[] labels;
+    private final @Nullable String nonNumericLabel;
+    /** the format split into literal text and the placeholders {@link #FORMAT_VALUE} and {@link #FORMAT_LABEL} */
+    private final List<String> formatParts;
+
+    /**
+     * @param ranges ranges and their labels in the order of the file
+     * @param nonNumericLabel label for non numeric values, or null
+     * @param format format containing the placeholders {@link #FORMAT_VALUE} and {@link #FORMAT_LABEL}
+     */
+    ScaleDefinition(Map<Range, String> ranges, @Nullable String nonNumericLabel, String format) {
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+
+        labels = new String[2 * limits.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            BigDecimal representative = getRepresentative(segment);
+            for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+                if (entry.getKey().contains(representative)) {
+                    labels[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+
+        this.nonNumericLabel = nonNumericLabel;
+        this.formatParts = parseFormat(format);
+    }
+
+    /**
+     * @return a number within the segment
+     */
+    private BigDecimal getRepresentative(int segment) {
+        if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        int index = segment / 2;
+        if (segment % 2 == 1) {
+            return limits[index];
+        } else if (index == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (index == limits.length) {
+            return limits[limits.length - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[index - 1].add(limits[index]).divide(TWO);
+        }
+    }
+
+    private static List<String> parseFormat(String format) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start < format.length()) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            int index;
+            String placeholder;
+            if (valueIndex >= 0 && (labelIndex < 0 || valueIndex < labelIndex)) {
+                index = valueIndex;
+                placeholder = FORMAT_VALUE;
+            } else if (labelIndex >= 0) {
+                index = labelIndex;
+                placeholder = FORMAT_LABEL;
+            } else {
+                break;
+            }
+            if (index > start) {
+                parts.add(format.substring(start, index));
+            }
+            parts.add(placeholder);
+            start = index + placeholder.length();
+        }
+        if (start < format.length()) {
+            parts.add(format.substring(start));
+        }
+        return parts;
+    }
+
+    /**
+     * @return the label of the first range containing the value, or null if no range contains it
+     */
+    @Nullable
+    String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(limits, value, BigDecimal::compareTo);
+        return labels[index >= 0 ? 2 * index + 1 : 2 * (-index - 1)];
+    }
+
+    @Nullable
+    String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * @return the format with the placeholders replaced by the value and the label
+     */
+    String format(String value, String label) {
+        StringBuilder result = new StringBuilder();
+        for (String part : formatParts) {
+            if (FORMAT_VALUE.equals(part)) {
+                result.append(value);
+            } else if (FORMAT_LABEL.equals(part)) {
+                result.append(label);
+            } else {
+                result.append(part);
+            }
+        }
+        return result.toString();
+    }
+}
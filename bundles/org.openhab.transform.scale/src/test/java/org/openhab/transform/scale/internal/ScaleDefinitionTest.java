@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ScaleDefinitionTest {
+
+    private static BigDecimal bd(String value) {
+        return new BigDecimal(value);
+    }
+
+    @Test
+    public void testFirstMatchOfOverlappingRanges() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.range(null, false, bd("15"), false), "first");
+        ranges.put(Range.range(bd("10"), true, bd("17"), false), "second");
+        ranges.put(Range.range(bd("15"), true, null, false), "last");
+        ScaleDefinition scale = new ScaleDefinition(ranges, null, ScaleDefinition.FORMAT_LABEL);
+
+        assertEquals("first", scale.getLabel(bd("-100")));
+        assertEquals("first", scale.getLabel(bd("10")));
+        assertEquals("first", scale.getLabel(bd("14.999")));
+        assertEquals("second", scale.getLabel(bd("15")));
+        assertEquals("second", scale.getLabel(bd("16.5")));
+        assertEquals("last", scale.getLabel(bd("17")));
+        assertEquals("last", scale.getLabel(bd("1E+6")));
+    }
+
+    @Test
+    public void testLimitsAndGaps() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.range(bd("0"), true, bd("1"), false), "low");
+        ranges.put(Range.range(bd("1"), false, bd("2"), true), "high");
+        ScaleDefinition scale = new ScaleDefinition(ranges, null, ScaleDefinition.FORMAT_LABEL);
+
+        assertNull(scale.getLabel(bd("-0.1")));
+        assertEquals("low", scale.getLabel(bd("0.00")));
+        assertEquals("low", scale.getLabel(bd("0.99")));
+        assertNull(scale.getLabel(bd("1.0")));
+        assertEquals("high", scale.getLabel(bd("1.01")));
+        assertEquals("high", scale.getLabel(bd("2")));
+        assertNull(scale.getLabel(bd("2.01")));
+    }
+
+    @Test
+    public void testCatchAll() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.all(), "all");
+        ScaleDefinition scale = new ScaleDefinition(ranges, "NaN", ScaleDefinition.FORMAT_LABEL);
+
+        assertEquals("all", scale.getLabel(bd("-1E+100")));
+        assertEquals("all", scale.getLabel(bd("0")));
+        assertEquals("NaN", scale.getNonNumericLabel());
+    }
+
+    @Test
+    public void testFormat() {
+        ScaleDefinition scale = new ScaleDefinition(new LinkedHashMap<>(), null, "%label% (%value%) $1 %label%");
+
+        assertEquals("Good (992) $1 Good", scale.format("992", "Good"));
+    }
+}